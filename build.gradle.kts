@@ -3,6 +3,7 @@ plugins {
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
     id("jacoco")
+    alias(libs.plugins.jmh)
 }
 
 configurations {
@@ -24,6 +25,9 @@ dependencyManagement {
 dependencies {
     implementation(libs.spring.boot.starter.web)
     implementation(libs.spring.boot.starter.validation)
+    implementation(libs.spring.boot.starter.actuator)
+    implementation(libs.reactor.core)
+    runtimeOnly(libs.micrometer.registry.prometheus)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
@@ -40,6 +44,18 @@ extensions.getByType<JacocoPluginExtension>().apply {
     toolVersion = "0.8.7"
 }
 
+// JMH (src/jmh/java), 예: ./gradlew jmh -PjmhIncludes=PointServiceBenchmark -PjmhThreads=8
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    fork.set(1)
+    warmupIterations.set(2)
+    iterations.set(3)
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+    (findProperty("jmhIncludes") as String?)?.let { includes.set(listOf(it)) }
+    (findProperty("jmhThreads") as String?)?.let { threads.set(it.toInt()) }
+}
+
 // bundling tasks
 tasks.named("bootJar") { enabled = true }
 tasks.named("jar") { enabled = false }
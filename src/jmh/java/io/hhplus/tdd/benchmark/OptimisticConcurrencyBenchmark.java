@@ -0,0 +1,71 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPoint;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유저 락(LOCK) vs 버전 CAS(OPTIMISTIC) 충전/사용 처리량 비교
+ * - 지연 없는 대역 테이블로 동시성 제어 비용만 본다.
+ * - skew : HOT 이면 모든 스레드가 한 유저에 몰려 CAS 충돌/backoff 가 잦고, UNIFORM 이면 충돌이 거의 없다.
+ * - OPTIMISTIC 은 테이블/내역 기록을 유저별 writer 에 넘기므로, writer 가 밀리면 큐 backpressure 도 처리량에 포함된다.
+ *
+ * ./gradlew jmh -PjmhIncludes=OptimisticConcurrencyBenchmark -PjmhThreads=8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class OptimisticConcurrencyBenchmark {
+
+    private static final int USERS = 10_000;
+
+    public enum Mode {
+        LOCK, OPTIMISTIC
+    }
+
+    @Param({"LOCK", "OPTIMISTIC"})
+    public Mode mode;
+
+    @Param({"HOT", "ZIPF", "UNIFORM"})
+    public UserKeys.Skew skew;
+
+    private PointService service;
+    private UserKeys keys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ZeroLatencyUserPointTable userPointTable = new ZeroLatencyUserPointTable();
+        // use 가 잔액 부족으로 실패하지 않도록 넉넉한 잔액으로 시작
+        for (long userId = 0; userId < USERS; userId++) {
+            userPointTable.insertOrUpdate(userId, Long.MAX_VALUE / 4);
+        }
+        PointProperties properties = new PointProperties();
+        properties.getOptimistic().setEnabled(mode == Mode.OPTIMISTIC);
+        service = new PointService(userPointTable, new ZeroLatencyPointHistoryTable(), properties);
+        keys = new UserKeys(skew, USERS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.close();
+    }
+
+    @Benchmark
+    public UserPoint charge() {
+        return service.charge(keys.next(), 10);
+    }
+
+    @Benchmark
+    public UserPoint use() {
+        return service.use(keys.next(), 10);
+    }
+
+    @Benchmark
+    public UserPoint get() {
+        return service.get(keys.next());
+    }
+}
@@ -0,0 +1,54 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPoint;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파티션 단일 writer 모드의 파티션 수별 충전 처리량
+ * - partitions : 0 이면 기존 유저 락 모드(기준선), 1 이상이면 그 수만큼 파티션 worker 를 둔다
+ *   코어 수까지 늘려 보려면 -p 로 바꾼다 (예: 코어 16개면 1,2,4,8,16)
+ * - skew : ZIPF 는 소수 유저(=소수 파티션)에 몰리고, UNIFORM 은 파티션에 고르게 퍼진다
+ * - 호출 스레드는 future 를 기다리므로, 파티션 수보다 넉넉한 스레드로 돌린다
+ *
+ * ./gradlew jmh -PjmhIncludes=PartitionScalingBenchmark -PjmhThreads=32
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class PartitionScalingBenchmark {
+
+    private static final int USERS = 10_000;
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int partitions;
+
+    @Param({"ZIPF", "UNIFORM"})
+    public UserKeys.Skew skew;
+
+    private PointService service;
+    private UserKeys keys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PointProperties properties = new PointProperties();
+        properties.getPartitioned().setEnabled(partitions > 0);
+        properties.getPartitioned().setPartitions(partitions);
+        service = new PointService(new ZeroLatencyUserPointTable(), new ZeroLatencyPointHistoryTable(), properties);
+        keys = new UserKeys(skew, USERS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.close();
+    }
+
+    @Benchmark
+    public UserPoint charge() {
+        return service.charge(keys.next(), 10);
+    }
+}
@@ -0,0 +1,137 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.PointTransfer;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointService 주요 경로 벤치마크 (charge / use / transfer / get / getAll / histories)
+ * - tables : 테이블 구성
+ *   ZERO_LATENCY 는 지연 없는 대역으로 서비스 오버헤드만, ZERO_LATENCY_HISTORY 는 여기에 내역 10만 건을 미리 쌓아 두고,
+ *   THROTTLED 는 원본 테이블(랜덤 지연) 포함 (지연 때문에 내역을 미리 쌓지 않는다)
+ * - skew : 유저 분포 (HOT / ZIPF / UNIFORM)
+ * - 스레드 수 : Threads1 / Threads4 / Threads16 변형으로 나눠 측정한다
+ *
+ * ./gradlew jmh -PjmhIncludes=PointServiceBenchmark
+ * -PjmhThreads=N 을 주면 모든 변형이 그 스레드 수로 덮인다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public abstract class PointServiceBenchmark {
+
+    private static final int USERS = 10_000;
+    // getAll 한 번에 조회하는 유저 수 (관리 화면 한 페이지)
+    private static final int PAGE = 100;
+
+    public enum Tables {
+        ZERO_LATENCY(false, 0),
+        ZERO_LATENCY_HISTORY(false, 100_000),
+        THROTTLED(true, 0);
+
+        final boolean throttled;
+        final int historyRows;
+
+        Tables(boolean throttled, int historyRows) {
+            this.throttled = throttled;
+            this.historyRows = historyRows;
+        }
+    }
+
+    @Param({"ZERO_LATENCY", "ZERO_LATENCY_HISTORY", "THROTTLED"})
+    public Tables tables;
+
+    @Param({"HOT", "ZIPF", "UNIFORM"})
+    public UserKeys.Skew skew;
+
+    private PointService service;
+    private UserKeys keys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean throttled = tables.throttled;
+        UserPointTable userPointTable = throttled ? new UserPointTable() : new ZeroLatencyUserPointTable();
+        PointHistoryTable pointHistoryTable = throttled ? new PointHistoryTable() : new ZeroLatencyPointHistoryTable();
+
+        // use 가 잔액 부족으로 실패하지 않도록 넉넉한 잔액으로 시작
+        if (!throttled) {
+            for (long userId = 0; userId < USERS; userId++) {
+                userPointTable.insertOrUpdate(userId, Long.MAX_VALUE / 4);
+            }
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < tables.historyRows; i++) {
+                pointHistoryTable.insert(i % USERS, 100, TransactionType.CHARGE, now);
+            }
+        }
+
+        service = new PointService(userPointTable, pointHistoryTable, new PointProperties());
+        keys = new UserKeys(skew, USERS);
+    }
+
+    @Benchmark
+    public UserPoint charge() {
+        return service.charge(keys.next(), 10);
+    }
+
+    @Benchmark
+    public UserPoint use() {
+        try {
+            return service.use(keys.next(), 10);
+        } catch (IllegalStateException insufficient) {
+            // THROTTLED 모드는 잔액을 미리 채우지 않으므로 잔액 부족도 한 번의 처리로 센다
+            return null;
+        }
+    }
+
+    @Benchmark
+    public PointTransfer transfer() {
+        long fromId = keys.next();
+        try {
+            return service.transfer(fromId, (fromId + 1) % USERS, 10);
+        } catch (IllegalStateException insufficient) {
+            // use() 와 같은 이유로 잔액 부족도 한 번의 처리로 센다
+            return null;
+        }
+    }
+
+    @Benchmark
+    public UserPoint get() {
+        return service.get(keys.next());
+    }
+
+    @Benchmark
+    public List<UserPoint> getAll() {
+        List<Long> ids = new ArrayList<>(PAGE);
+        for (int i = 0; i < PAGE; i++) {
+            ids.add(keys.next());
+        }
+        return service.getAll(ids);
+    }
+
+    @Benchmark
+    public List<PointHistory> histories() {
+        return service.histories(keys.next());
+    }
+
+    @Threads(1)
+    public static class Threads1 extends PointServiceBenchmark {
+    }
+
+    @Threads(4)
+    public static class Threads4 extends PointServiceBenchmark {
+    }
+
+    @Threads(16)
+    public static class Threads16 extends PointServiceBenchmark {
+    }
+}
@@ -0,0 +1,114 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointJournal;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 저널 복구 시작 시간 벤치마크 (PointService 생성 = 저널 replay + 테이블 채우기)
+ * - FULL_REPLAY : 스냅샷 없이 historyRows 건 전부 replay
+ * - SNAPSHOT : 마지막 tailRows 건 이전에 찍은 스냅샷을 읽고 tailRows 건만 replay
+ * 준비 단계에서 historyRows 건을 저널에 기록한다 (유저 하나씩 묶어 일괄 처리, 수 분 걸릴 수 있음).
+ *
+ * ./gradlew jmh -PjmhIncludes=PointStartupBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx6g"})
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class PointStartupBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int CHUNK = 1_000;
+
+    @Param({"10000000"})
+    public int historyRows;
+
+    @Param({"100000"})
+    public int tailRows;
+
+    @Param({"FULL_REPLAY", "SNAPSHOT"})
+    public String mode;
+
+    private Path root;
+    private PointProperties properties;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("point-startup");
+        properties = new PointProperties();
+        properties.getJournal().setEnabled(true);
+        properties.getJournal().setDirectory(root.resolve("journal").toString());
+        properties.getJournal().setDurability(PointJournal.Durability.FSYNC_PER_BATCH);
+        properties.getSnapshot().setEnabled(true);
+        properties.getSnapshot().setDirectory(root.resolve("snapshot").toString());
+        properties.getSnapshot().setIntervalMillis(TimeUnit.DAYS.toMillis(1));
+
+        PointService writer = new PointService(new ZeroLatencyUserPointTable(), new DiscardingPointHistoryTable(), properties);
+        write(writer, 0, historyRows - tailRows);
+        writer.checkpoint();
+        write(writer, historyRows - tailRows, historyRows);
+        writer.close();
+
+        properties.getSnapshot().setEnabled("SNAPSHOT".equals(mode));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public PointService startup() {
+        PointService service = new PointService(new ZeroLatencyUserPointTable(), new ZeroLatencyPointHistoryTable(), properties);
+        service.close();
+        return service;
+    }
+
+    // [from, to) 번째 기록을 CHUNK 건씩 한 유저에 몰아 일괄 처리 (유저 그룹마다 저널을 한 번만 내린다)
+    private static void write(PointService writer, int from, int to) {
+        for (int start = from; start < to; start += CHUNK) {
+            long userId = (start / CHUNK) % USERS;
+            List<PointCommand> commands = new ArrayList<>(CHUNK);
+            for (int i = start; i < Math.min(to, start + CHUNK); i++) {
+                commands.add(new PointCommand(userId, TransactionType.CHARGE, 1));
+            }
+            writer.applyAll(commands);
+        }
+    }
+
+    // 준비 단계용: 내역을 보관하지 않는 테이블 (기록 중 힙을 쓰지 않도록)
+    private static final class DiscardingPointHistoryTable extends PointHistoryTable {
+        private long cursor = 1;
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            return new PointHistory(cursor++, userId, amount, type, updateMillis);
+        }
+
+        @Override
+        public List<PointHistory> selectAllByUserId(long userId) {
+            return List.of();
+        }
+    }
+}
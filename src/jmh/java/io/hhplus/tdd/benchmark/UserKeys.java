@@ -0,0 +1,58 @@
+package io.hhplus.tdd.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 벤치마크용 유저 id 분포
+ * - HOT : 항상 유저 0
+ * - ZIPF : 지프 분포 (s = 1.0, 소수 유저에 트래픽 집중)
+ * - UNIFORM : 0 ~ users-1 균등
+ */
+public final class UserKeys {
+
+    public enum Skew {
+        HOT, ZIPF, UNIFORM
+    }
+
+    private final Skew skew;
+    private final int users;
+    private final double[] cdf;
+
+    public UserKeys(Skew skew, int users) {
+        this.skew = skew;
+        this.users = users;
+        this.cdf = skew == Skew.ZIPF ? zipfCdf(users, 1.0) : null;
+    }
+
+    public long next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (skew) {
+            case HOT -> 0L;
+            case UNIFORM -> random.nextInt(users);
+            case ZIPF -> search(cdf, random.nextDouble());
+        };
+    }
+
+    private static double[] zipfCdf(int n, double s) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int k = 1; k <= n; k++) {
+            sum += 1.0 / Math.pow(k, s);
+            cdf[k - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    private static int search(double[] cdf, double p) {
+        int lo = 0, hi = cdf.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cdf[mid] < p) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
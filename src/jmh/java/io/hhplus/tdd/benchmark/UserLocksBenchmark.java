@@ -0,0 +1,67 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.UserLocks;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 유저 락 전략 비교 (처리량 + 보관 락 수/힙 사용량)
+ * - HOT : 모든 스레드가 한 유저에 몰림
+ * - UNIFORM : 100만 유저에 고르게 분산 (FAIR 는 유저 수만큼 락이 쌓인다)
+ *
+ * ./gradlew jmh -PjmhIncludes=UserLocksBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class UserLocksBenchmark {
+
+    private static final long USER_SPACE = 1_000_000L;
+
+    @Param({"FAIR", "STRIPED", "REF_COUNTED"})
+    public UserLocks.Strategy strategy;
+
+    @Param({"HOT", "UNIFORM"})
+    public String distribution;
+
+    private UserLocks locks;
+    private long heapBefore;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        heapBefore = usedHeapAfterGc();
+        locks = UserLocks.create(strategy, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        long heapAfter = usedHeapAfterGc();
+        System.out.printf("%n[%s/%s] retained locks=%d, heap delta=%,d bytes%n",
+                strategy, distribution, locks.retainedLocks(), heapAfter - heapBefore);
+    }
+
+    @Benchmark
+    public void lockUnlock(Blackhole blackhole) {
+        long userId = "HOT".equals(distribution) ? 1L : ThreadLocalRandom.current().nextLong(USER_SPACE);
+        Lock lock = locks.lockFor(userId);
+        lock.lock();
+        try {
+            // 임계 구역 안의 짧은 계산
+            Blackhole.consumeCPU(32);
+            blackhole.consume(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
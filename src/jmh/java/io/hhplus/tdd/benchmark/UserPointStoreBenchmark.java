@@ -0,0 +1,89 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.UserPointStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 잔액 저장소 비교 (TABLE = Long → UserPoint 해시맵, OFF_HEAP = 힙 밖 open addressing 배열)
+ * - select / update : 저장소 호출 한 번의 평균 시간 (-prof gc 로 호출당 할당량도 함께 본다)
+ * - footprint : users 명을 새 저장소에 채운 뒤 유저당 힙/힙 밖 바이트 (heapBytesPerUser, offHeapBytesPerUser)
+ * TABLE 은 지연 없는 ZeroLatencyUserPointTable 을 쓴다 (원본 테이블과 같은 Long 키 + UserPoint 엔트리 구조).
+ *
+ * ./gradlew jmh -PjmhIncludes=UserPointStoreBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-XX:MaxDirectMemorySize=2g"})
+public class UserPointStoreBenchmark {
+
+    @Param({"1000000"})
+    public int users;
+
+    @Param({"TABLE", "OFF_HEAP"})
+    public UserPointStore.Type store;
+
+    private UserPointStore target;
+    private UserKeys keys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        target = fill(newStore());
+        keys = new UserKeys(UserKeys.Skew.UNIFORM, users);
+    }
+
+    @Benchmark
+    public UserPoint select() {
+        return target.selectById(keys.next());
+    }
+
+    @Benchmark
+    public UserPoint update() {
+        return target.insertOrUpdate(keys.next(), 1);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long heapBytesPerUser;
+        public long offHeapBytesPerUser;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public UserPointStore footprint(Footprint footprint) {
+        long before = usedHeapAfterGc();
+        UserPointStore filled = fill(newStore());
+        long after = usedHeapAfterGc();
+        footprint.heapBytesPerUser = (after - before) / users;
+        footprint.offHeapBytesPerUser = filled.offHeapBytes() / users;
+        return filled;
+    }
+
+    private UserPointStore newStore() {
+        return UserPointStore.create(store, new ZeroLatencyUserPointTable(), users);
+    }
+
+    private UserPointStore fill(UserPointStore empty) {
+        for (long id = 0; id < users; id++) {
+            empty.insertOrUpdate(id, id);
+        }
+        return empty;
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,42 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 지연 없는 PointHistoryTable 대역
+ * - 원본과 같이 전체 목록을 훑어 유저 내역을 고르되, 여러 스레드의 insert 에 안전하다.
+ */
+public class ZeroLatencyPointHistoryTable extends PointHistoryTable {
+
+    private final List<PointHistory> table = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long cursor = 1;
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        lock.lock();
+        try {
+            PointHistory pointHistory = new PointHistory(cursor++, userId, amount, type, updateMillis);
+            table.add(pointHistory);
+            return pointHistory;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        lock.lock();
+        try {
+            return table.stream().filter(pointHistory -> pointHistory.userId() == userId).toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
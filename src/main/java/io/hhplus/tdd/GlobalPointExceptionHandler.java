@@ -1,5 +1,7 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.point.PointMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -23,8 +25,21 @@ public class GlobalPointExceptionHandler {
     private static final MediaType TEXT_PLAIN_UTF8 =
             new MediaType("text", "plain", StandardCharsets.UTF_8);
 
+    // 예외 종류별 건수 기록 (point.errors)
+    private final PointMetrics metrics;
+
+    public GlobalPointExceptionHandler() {
+        this(PointMetrics.NOOP);
+    }
+
+    @Autowired
+    public GlobalPointExceptionHandler(PointMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<String> handleInvalidAmount(IllegalArgumentException e) {
+        metrics.recordError(e, HttpStatus.BAD_REQUEST.value());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .contentType(TEXT_PLAIN_UTF8)
                 .body(e.getMessage());
@@ -39,6 +54,7 @@ public class GlobalPointExceptionHandler {
             MissingServletRequestParameterException.class
     })
     public ResponseEntity<String> handleBadRequest(Exception e) {
+        metrics.recordError(e, HttpStatus.BAD_REQUEST.value());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .contentType(TEXT_PLAIN_UTF8)
                 .body(e.getMessage());
@@ -46,8 +62,20 @@ public class GlobalPointExceptionHandler {
 
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<String> handleInsufficientBalance(IllegalStateException e) {
+        metrics.recordError(e, HttpStatus.CONFLICT.value());
         return ResponseEntity.status(HttpStatus.CONFLICT)
                 .contentType(TEXT_PLAIN_UTF8)
                 .body(e.getMessage());
     }
+
+    // 일괄 처리처럼 한 응답에 여러 결과를 담을 때, 건별 예외를 위 핸들러와 같은 상태/메시지로 변환
+    public static ErrorResponse toErrorResponse(Throwable e) {
+        if (e instanceof IllegalArgumentException) {
+            return new ErrorResponse(String.valueOf(HttpStatus.BAD_REQUEST.value()), e.getMessage());
+        }
+        if (e instanceof IllegalStateException) {
+            return new ErrorResponse(String.valueOf(HttpStatus.CONFLICT.value()), e.getMessage());
+        }
+        return new ErrorResponse("500", "에러가 발생했습니다.");
+    }
 }
@@ -0,0 +1,303 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 컬럼형 포인트 내역 저장소 (point.store.history=COLUMNAR, PointHistoryTable 과 유저별 인덱스를 대신한다)
+ * - 유저마다 내역을 CHUNK_ROWS 건씩 묶는다. 다 찬 묶음은 컬럼별로 압축해 봉인(sealed)하고 이후 바꾸지 않는다.
+ *   · id : 첫 id + 직전 행과의 차이 (varint)
+ *   · updateMillis : 첫 시각 + 직전 행과의 차이 (zigzag varint, 시계가 뒤로 가도 된다)
+ *   · amount : zigzag varint
+ *   · type : 행당 1비트 (USE = 1)
+ *   · userId : 유저별로 한 번만 보관
+ * - 아직 차지 않은 마지막 묶음(tail)은 primitive 배열 하나에 행 단위로 쌓는다.
+ * - 조회는 묶음의 id/시각 범위로 건너뛰고, 조건에 맞아 돌려줄 행만 PointHistory 로 만든다.
+ * - 쓰기는 유저의 내역 writer(유저 락 보유 스레드, 비동기 모드에서는 파티션 writer)만 하고, 조회는 락 없이 가능하다.
+ */
+final class ColumnarPointHistoryStore {
+
+    static final int CHUNK_ROWS = 256;
+
+    private final AtomicLong cursor = new AtomicLong(1);
+    private final ConcurrentHashMap<Long, UserColumns> byUser = new ConcurrentHashMap<>();
+
+    // 유저의 내역 writer 에서 호출, 부여한 id 를 돌려준다
+    long insert(long userId, long amount, TransactionType type, long updateMillis) {
+        long id = cursor.getAndIncrement();
+        UserColumns columns = byUser.get(userId);
+        if (columns == null) {
+            columns = byUser.computeIfAbsent(userId, UserColumns::new);
+        }
+        columns.append(id, amount, type, updateMillis);
+        return id;
+    }
+
+    List<PointHistory> selectAllByUserId(long userId) {
+        UserColumns columns = byUser.get(userId);
+        return columns == null ? Collections.emptyList() : columns.all();
+    }
+
+    PointHistoryPage page(long userId, PointHistoryQuery query) {
+        UserColumns columns = byUser.get(userId);
+        return columns == null ? new PointHistoryPage(Collections.emptyList(), null) : columns.page(query);
+    }
+
+    long[] userIds() {
+        return byUser.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    /**
+     * 한 유저의 내역 (id 오름차순, 단일 writer / 다중 reader)
+     * - 봉인된 묶음 목록과 tail 을 State 하나로 묶어 교체하므로, reader 는 둘이 어긋난 상태를 보지 않는다.
+     */
+    private static final class UserColumns {
+        private final long userId;
+        private volatile State state = new State(new Chunk[0], new Tail());
+
+        private UserColumns(long userId) {
+            this.userId = userId;
+        }
+
+        private void append(long id, long amount, TransactionType type, long updateMillis) {
+            State current = state;
+            if (current.tail.size == CHUNK_ROWS) {
+                Chunk[] sealed = Arrays.copyOf(current.sealed, current.sealed.length + 1);
+                sealed[sealed.length - 1] = Chunk.seal(current.tail);
+                current = new State(sealed, new Tail());
+                state = current;
+            }
+            current.tail.add(id, amount, type, updateMillis);
+        }
+
+        private List<PointHistory> all() {
+            Collector collector = new Collector(userId, PointHistoryQuery.of(null, null, null, null, null));
+            State current = state;
+            for (Chunk chunk : current.sealed) {
+                chunk.collect(collector);
+            }
+            current.tail.collect(collector);
+            return collector.items.isEmpty() ? Collections.emptyList() : List.copyOf(collector.items);
+        }
+
+        // limit 건을 채운 뒤 조건에 맞는 행이 더 있으면 마지막 id 를 다음 커서로 돌려준다
+        private PointHistoryPage page(PointHistoryQuery query) {
+            Collector collector = new Collector(userId, query);
+            State current = state;
+            for (Chunk chunk : current.sealed) {
+                if (collector.truncated) {
+                    break;
+                }
+                if (chunk.lastId > query.afterId() && chunk.maxMillis >= query.fromMillis()
+                        && chunk.minMillis <= query.toMillis()) {
+                    chunk.collect(collector);
+                }
+            }
+            if (!collector.truncated) {
+                current.tail.collect(collector);
+            }
+            List<PointHistory> items = Collections.unmodifiableList(collector.items);
+            Long nextCursor = collector.truncated ? items.get(items.size() - 1).id() : null;
+            return new PointHistoryPage(items, nextCursor);
+        }
+    }
+
+    private record State(Chunk[] sealed, Tail tail) {
+    }
+
+    // 조회 조건에 맞는 행을 limit 건까지 모으고, 그 뒤에 맞는 행이 하나라도 보이면 truncated
+    private static final class Collector {
+        private final long userId;
+        private final PointHistoryQuery query;
+        private final List<PointHistory> items;
+        private boolean truncated;
+
+        private Collector(long userId, PointHistoryQuery query) {
+            this.userId = userId;
+            this.query = query;
+            this.items = new ArrayList<>(Math.min(query.limit(), CHUNK_ROWS));
+        }
+
+        // 더 볼 필요가 없으면 false
+        private boolean accept(long id, long amount, TransactionType type, long updateMillis) {
+            if (id <= query.afterId() || !query.matches(updateMillis, type)) {
+                return true;
+            }
+            if (items.size() == query.limit()) {
+                truncated = true;
+                return false;
+            }
+            items.add(new PointHistory(id, userId, amount, type, updateMillis));
+            return true;
+        }
+    }
+
+    /**
+     * 아직 봉인되지 않은 행들 (행마다 id, amount, updateMillis, type 4칸)
+     * - rows 를 먼저 쓰고 size 를 나중에 쓰므로, size 를 읽은 reader 는 [0, size) 를 항상 온전히 본다.
+     */
+    private static final class Tail {
+        private static final int STRIDE = 4;
+
+        private volatile long[] rows = new long[8 * STRIDE];
+        private volatile int size;
+
+        private void add(long id, long amount, TransactionType type, long updateMillis) {
+            int n = size;
+            long[] current = rows;
+            if ((n + 1) * STRIDE > current.length) {
+                current = Arrays.copyOf(current, Math.min(CHUNK_ROWS, n * 2) * STRIDE);
+                rows = current;
+            }
+            int offset = n * STRIDE;
+            current[offset] = id;
+            current[offset + 1] = amount;
+            current[offset + 2] = updateMillis;
+            current[offset + 3] = type.ordinal();
+            size = n + 1;
+        }
+
+        private void collect(Collector collector) {
+            int n = size;
+            long[] snapshot = rows;
+            TransactionType[] types = TransactionType.values();
+            for (int i = 0; i < n; i++) {
+                int offset = i * STRIDE;
+                if (!collector.accept(snapshot[offset], snapshot[offset + 1], types[(int) snapshot[offset + 3]],
+                        snapshot[offset + 2])) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 봉인된 묶음 (불변)
+     * - 범위(firstId ~ lastId, minMillis ~ maxMillis)로 조회 대상이 아니면 풀지 않고 건너뛴다.
+     */
+    private static final class Chunk {
+        private final int rows;
+        private final long firstId;
+        private final long lastId;
+        private final long firstMillis;
+        private final long minMillis;
+        private final long maxMillis;
+        private final byte[] idDeltas;
+        private final byte[] millisDeltas;
+        private final byte[] amounts;
+        private final long[] useBits;
+
+        private Chunk(int rows, long firstId, long lastId, long firstMillis, long minMillis, long maxMillis,
+                      byte[] idDeltas, byte[] millisDeltas, byte[] amounts, long[] useBits) {
+            this.rows = rows;
+            this.firstId = firstId;
+            this.lastId = lastId;
+            this.firstMillis = firstMillis;
+            this.minMillis = minMillis;
+            this.maxMillis = maxMillis;
+            this.idDeltas = idDeltas;
+            this.millisDeltas = millisDeltas;
+            this.amounts = amounts;
+            this.useBits = useBits;
+        }
+
+        private static Chunk seal(Tail tail) {
+            int n = tail.size;
+            long[] rows = tail.rows;
+            VarLongWriter ids = new VarLongWriter(n);
+            VarLongWriter millis = new VarLongWriter(n);
+            VarLongWriter amounts = new VarLongWriter(n);
+            long[] useBits = new long[(n + 63) >>> 6];
+            long firstId = rows[0];
+            long firstMillis = rows[2];
+            long minMillis = firstMillis;
+            long maxMillis = firstMillis;
+            for (int i = 0; i < n; i++) {
+                int offset = i * Tail.STRIDE;
+                if (i > 0) {
+                    ids.write(rows[offset] - rows[offset - Tail.STRIDE]);
+                    millis.write(rows[offset + 2] - rows[offset + 2 - Tail.STRIDE]);
+                }
+                amounts.write(rows[offset + 1]);
+                if (rows[offset + 3] == TransactionType.USE.ordinal()) {
+                    useBits[i >>> 6] |= 1L << i;
+                }
+                minMillis = Math.min(minMillis, rows[offset + 2]);
+                maxMillis = Math.max(maxMillis, rows[offset + 2]);
+            }
+            long lastId = rows[(n - 1) * Tail.STRIDE];
+            return new Chunk(n, firstId, lastId, firstMillis, minMillis, maxMillis,
+                    ids.toArray(), millis.toArray(), amounts.toArray(), useBits);
+        }
+
+        private void collect(Collector collector) {
+            VarLongReader ids = new VarLongReader(idDeltas);
+            VarLongReader millis = new VarLongReader(millisDeltas);
+            VarLongReader amountReader = new VarLongReader(amounts);
+            long id = firstId;
+            long updateMillis = firstMillis;
+            for (int i = 0; i < rows; i++) {
+                if (i > 0) {
+                    id += ids.next();
+                    updateMillis += millis.next();
+                }
+                long amount = amountReader.next();
+                TransactionType type = (useBits[i >>> 6] & (1L << i)) != 0 ? TransactionType.USE : TransactionType.CHARGE;
+                if (!collector.accept(id, amount, type, updateMillis)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // zigzag + 7비트 단위 가변 길이 정수
+    private static final class VarLongWriter {
+        private byte[] bytes;
+        private int length;
+
+        private VarLongWriter(int expected) {
+            this.bytes = new byte[Math.max(16, expected * 2)];
+        }
+
+        private void write(long value) {
+            long zigzag = (value << 1) ^ (value >> 63);
+            if (length + 10 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            while ((zigzag & ~0x7FL) != 0) {
+                bytes[length++] = (byte) ((zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            bytes[length++] = (byte) zigzag;
+        }
+
+        private byte[] toArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+    }
+
+    private static final class VarLongReader {
+        private final byte[] bytes;
+        private int position;
+
+        private VarLongReader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private long next() {
+            long zigzag = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                zigzag |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저별 공정 락 캐시 (기존 방식)
+ * - 한 번 만든 락은 제거하지 않는다.
+ */
+class FairUserLocks implements UserLocks {
+
+    private final ConcurrentHashMap<Long, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    @Override
+    public Lock lockFor(long userId) {
+        return locks.computeIfAbsent(userId, id -> new ReentrantLock(true));
+    }
+
+    @Override
+    public int retainedLocks() {
+        return locks.size();
+    }
+}
@@ -0,0 +1,189 @@
+package io.hhplus.tdd.point;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * 포인트 내역 비동기 기록 파이프라인
+ * - 유저 id 를 파티션으로 나누고, 파티션마다 크기 제한 큐 + 전용 writer 스레드 하나를 둔다.
+ * - 같은 유저의 내역은 항상 같은 writer 가 순서대로 기록한다.
+ * - 큐가 가득 차면 submit 이 빈자리가 날 때까지 기다린다 (backpressure).
+ * - callOnWriter / flush 는 그 시점까지 넣은 기록이 모두 끝난 뒤 실행/반환된다.
+ * - admit 안에서 넣는 기록은 종료와 겹쳐도 거절되지 않는다 (종료 뒤에는 admit 자체가 거절된다).
+ */
+class HistoryAppendPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(HistoryAppendPipeline.class);
+
+    interface Sink {
+        void append(long userId, long amount, TransactionType type, long updateMillis);
+    }
+
+    private final Partition[] partitions;
+    private final Sink sink;
+
+    HistoryAppendPipeline(int partitionCount, int queueCapacity, Sink sink) {
+        this.sink = sink;
+        this.partitions = new Partition[Math.max(1, partitionCount)];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition(i, Math.max(1, queueCapacity));
+        }
+    }
+
+    void submit(long userId, long amount, TransactionType type, long updateMillis) {
+        partitionFor(userId).put(() -> sink.append(userId, amount, type, updateMillis));
+    }
+
+    // 해당 유저의 파티션이 기록을 받는 동안에만 action 을 실행한다 (끝날 때까지 종료를 미룬다)
+    <T> T admit(long userId, Supplier<T> action) {
+        return partitionFor(userId).admit(action);
+    }
+
+    // 해당 유저의 writer 에서 task 를 실행한다 (기다리지 않음)
+    void execute(long userId, Runnable task) {
+        partitionFor(userId).put(task);
+    }
+
+    // 해당 유저의 writer 에서 action 을 실행하고 결과를 기다린다
+    <T> T callOnWriter(long userId, Supplier<T> action) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        partitionFor(userId).put(() -> {
+            try {
+                result.complete(action.get());
+            } catch (Throwable e) {
+                // Error 도 future 로 넘겨, 기다리는 호출자가 멈춰 있지 않게 한다
+                result.completeExceptionally(e);
+            }
+        });
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    void flush(long userId) {
+        callOnWriter(userId, () -> null);
+    }
+
+    void flushAll() {
+        CompletableFuture<?>[] markers = new CompletableFuture<?>[partitions.length];
+        for (int i = 0; i < partitions.length; i++) {
+            CompletableFuture<Void> marker = new CompletableFuture<>();
+            partitions[i].put(() -> marker.complete(null));
+            markers[i] = marker;
+        }
+        CompletableFuture.allOf(markers).join();
+    }
+
+    // 남은 기록을 모두 처리한 뒤 writer 를 멈춘다
+    void close() {
+        for (Partition partition : partitions) {
+            partition.stop();
+        }
+        for (Partition partition : partitions) {
+            try {
+                partition.thread.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private Partition partitionFor(long userId) {
+        return partitions[Math.floorMod(Long.hashCode(userId), partitions.length)];
+    }
+
+    private static final class Partition implements Runnable {
+        private final BlockingQueue<Runnable> queue;
+        private final Thread thread;
+        private volatile boolean running = true;
+        // put 은 read lock, stop 은 write lock 안에서 running 을 보고/바꿔, 멈춘 뒤에는 큐에 새 작업이 들어가지 않는다
+        private final ReadWriteLock accepting = new ReentrantReadWriteLock();
+
+        private Partition(int index, int capacity) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.thread = new Thread(this, "point-history-writer-" + index);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        private <T> T admit(Supplier<T> action) {
+            Lock lock = accepting.readLock();
+            lock.lock();
+            try {
+                checkRunning();
+                return action.get();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void put(Runnable task) {
+            Lock lock = accepting.readLock();
+            lock.lock();
+            try {
+                checkRunning();
+                queue.put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("내역 기록 대기 중 중단되었습니다.", e);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void checkRunning() {
+            if (!running) {
+                throw new IllegalStateException("내역 기록 파이프라인이 종료되었습니다.");
+            }
+        }
+
+        private void stop() {
+            Lock lock = accepting.writeLock();
+            lock.lock();
+            try {
+                running = false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (running || !queue.isEmpty()) {
+                Runnable task;
+                try {
+                    task = queue.poll(100, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    continue;
+                }
+                if (task == null) {
+                    continue;
+                }
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.error("point history append failed", e);
+                }
+            }
+        }
+    }
+}
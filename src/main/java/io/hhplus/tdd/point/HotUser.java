@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 경합이 몰려 배치 경로로 처리 중인 유저 (GET /point/hot-users)
+ * - waiting : 지금 락을 기다리는 요청 수
+ * - peakQueueLength : 최근 윈도 안의 최대 락 대기열 길이
+ * - acquisitions / waitMillis : 최근 윈도 동안의 락 획득 수와 대기 시간 합 (슬라이딩 윈도 추정값)
+ * - hotSince : hot 으로 판정된 시각 (epoch millis)
+ */
+public record HotUser(long userId, int waiting, int peakQueueLength, long acquisitions, long waitMillis, long hotSince) {
+}
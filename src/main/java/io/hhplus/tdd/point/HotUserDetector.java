@@ -0,0 +1,205 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저별 락 경합 감지기 (hot user)
+ * - 락을 한 번이라도 오래(TRACK_WAIT_NANOS 이상) 기다린 유저만 추적하므로, 경합 없는 유저는 맵 조회 한 번만 든다.
+ * - 추적 중인 유저는 락 대기열 길이(지금 기다리는 요청 수)의 최댓값과 대기 시간 합을 이전/현재 윈도 두 칸으로 집계하고,
+ *   슬라이딩 윈도 추정값(이전 × 남은 비율 + 현재)으로 판정한다.
+ * - hot 이 된 뒤에는 두 지표가 모두 기준의 절반 아래로 내려가야 해제한다 (경계에서 경로가 자주 바뀌지 않도록).
+ */
+class HotUserDetector {
+
+    private static final long TRACK_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final ConcurrentHashMap<Long, Stat> byUser = new ConcurrentHashMap<>();
+    private final long windowNanos;
+    private final int queueThreshold;
+    private final long waitThresholdNanos;
+    private final int maxTracked;
+
+    HotUserDetector(long windowMillis, int queueThreshold, long waitThresholdMillis, int maxTracked) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, windowMillis));
+        this.queueThreshold = Math.max(2, queueThreshold);
+        this.waitThresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, waitThresholdMillis));
+        this.maxTracked = Math.max(1, maxTracked);
+    }
+
+    // 락을 기다리기 직전 호출: 추적 중인 유저면 대기열 길이를 올리고 그 Stat 을, 아니면 null 을 돌려준다
+    Stat beforeWait(long userId, long now) {
+        Stat stat = byUser.get(userId);
+        if (stat != null) {
+            stat.enter(now);
+        }
+        return stat;
+    }
+
+    // 락을 잡은 직후 호출 (stat 은 beforeWait 이 돌려준 값)
+    void afterWait(long userId, Stat stat, long waitNanos, long now) {
+        if (stat != null) {
+            stat.exit();
+        } else {
+            if (waitNanos < TRACK_WAIT_NANOS) {
+                return;
+            }
+            stat = track(userId, now);
+            if (stat == null) {
+                return;
+            }
+        }
+        stat.record(waitNanos, now);
+        evaluate(stat, now);
+    }
+
+    boolean isHot(long userId) {
+        Stat stat = byUser.get(userId);
+        if (stat == null) {
+            return false;
+        }
+        long now = System.nanoTime();
+        stat.rotate(now);
+        evaluate(stat, now);
+        return stat.hot;
+    }
+
+    // 현재 hot 인 유저 목록 (유저 id 오름차순), 호출 시 오래 조용했던 유저는 추적에서 뺀다
+    List<HotUser> snapshot() {
+        long now = System.nanoTime();
+        sweep(now);
+        List<HotUser> hot = new ArrayList<>();
+        byUser.forEach((userId, stat) -> {
+            stat.rotate(now);
+            evaluate(stat, now);
+            if (stat.hot) {
+                hot.add(new HotUser(userId, stat.waiting.get(), stat.peakQueue(), stat.acquisitions(now),
+                        TimeUnit.NANOSECONDS.toMillis(stat.waitNanos(now)), stat.hotSinceMillis));
+            }
+        });
+        hot.sort(Comparator.comparingLong(HotUser::userId));
+        return hot;
+    }
+
+    private Stat track(long userId, long now) {
+        if (byUser.size() >= maxTracked) {
+            sweep(now);
+            if (byUser.size() >= maxTracked) {
+                return null;
+            }
+        }
+        return byUser.computeIfAbsent(userId, id -> new Stat(windowNanos, now));
+    }
+
+    private void sweep(long now) {
+        byUser.values().removeIf(stat ->
+                !stat.hot && stat.waiting.get() == 0 && now - stat.lastSeen > 2 * windowNanos);
+    }
+
+    private void evaluate(Stat stat, long now) {
+        int queue = stat.peakQueue();
+        long wait = stat.waitNanos(now);
+        if (!stat.hot) {
+            if (queue >= queueThreshold || wait >= waitThresholdNanos) {
+                stat.hotSinceMillis = System.currentTimeMillis();
+                stat.hot = true;
+            }
+        } else if (queue * 2 < queueThreshold && wait * 2 < waitThresholdNanos) {
+            stat.hot = false;
+        }
+    }
+
+    /**
+     * 한 유저의 경합 집계 (이전/현재 윈도)
+     * - 카운터는 원자 변수로 갱신하고, 윈도 교체만 tryLock 으로 한 스레드가 맡는다 (놓친 교체는 다음 호출이 한다).
+     */
+    static final class Stat {
+        private final long windowNanos;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final ReentrantLock rotation = new ReentrantLock();
+
+        private volatile long windowStart;
+        private final AtomicInteger peak = new AtomicInteger();
+        private final AtomicLong acquisitions = new AtomicLong();
+        private final AtomicLong waitNanos = new AtomicLong();
+
+        private volatile int previousPeak;
+        private volatile long previousAcquisitions;
+        private volatile long previousWaitNanos;
+
+        private volatile long lastSeen;
+        private volatile boolean hot;
+        private volatile long hotSinceMillis;
+
+        private Stat(long windowNanos, long now) {
+            this.windowNanos = windowNanos;
+            this.windowStart = now;
+            this.lastSeen = now;
+        }
+
+        private void enter(long now) {
+            rotate(now);
+            int queued = waiting.incrementAndGet();
+            peak.accumulateAndGet(queued, Math::max);
+        }
+
+        private void exit() {
+            waiting.decrementAndGet();
+        }
+
+        private void record(long waited, long now) {
+            rotate(now);
+            acquisitions.incrementAndGet();
+            waitNanos.addAndGet(waited);
+            lastSeen = now;
+        }
+
+        private void rotate(long now) {
+            long elapsed = now - windowStart;
+            if (elapsed < windowNanos || !rotation.tryLock()) {
+                return;
+            }
+            try {
+                elapsed = now - windowStart;
+                if (elapsed < windowNanos) {
+                    return;
+                }
+                // 바로 이어지는 윈도면 현재 값을 이전으로 넘기고, 한 윈도 이상 비었으면 둘 다 비운다
+                boolean adjacent = elapsed < 2 * windowNanos;
+                int currentPeak = peak.getAndSet(waiting.get());
+                long currentAcquisitions = acquisitions.getAndSet(0);
+                long currentWait = waitNanos.getAndSet(0);
+                previousPeak = adjacent ? currentPeak : 0;
+                previousAcquisitions = adjacent ? currentAcquisitions : 0;
+                previousWaitNanos = adjacent ? currentWait : 0;
+                windowStart = adjacent ? windowStart + windowNanos : now;
+            } finally {
+                rotation.unlock();
+            }
+        }
+
+        private int peakQueue() {
+            return Math.max(peak.get(), previousPeak);
+        }
+
+        private long acquisitions(long now) {
+            return (long) (previousAcquisitions * previousWeight(now)) + acquisitions.get();
+        }
+
+        private long waitNanos(long now) {
+            return (long) (previousWaitNanos * previousWeight(now)) + waitNanos.get();
+        }
+
+        // 슬라이딩 윈도에 아직 걸쳐 있는 이전 윈도의 비율
+        private double previousWeight(long now) {
+            double elapsed = (double) (now - windowStart) / windowNanos;
+            return Math.max(0.0, Math.min(1.0, 1.0 - elapsed));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * 충전/사용 요청의 Idempotency-Key 결과 캐시 (크기 제한 + 만료)
+ * - (유저 id, 키) 마다 첫 요청의 실행 결과(잔액 또는 요청 오류)를 ttl 동안 기억한다.
+ *   재시도는 유저 락이나 테이블을 거치지 않고 기억한 결과를 그대로 돌려받는다.
+ * - 같은 키의 요청이 동시에 들어오면 먼저 등록한 요청만 실행하고 나머지는 그 결과를 함께 기다린다.
+ * - 같은 키로 종류나 금액이 다른 요청을 보내면 거절한다.
+ * - 요청 오류(IllegalArgumentException / IllegalStateException)만 기억하고, 그 밖의 실패는 지워 재시도 시 다시 실행한다.
+ * - 등록 순서 큐로 만료된 항목과 maximumSize 를 넘는 오래된 항목을 지운다 (ttl 이 모두 같으므로 등록 순서 = 만료 순서).
+ */
+class IdempotencyCache {
+
+    static final String MISMATCH_MESSAGE = "같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다.";
+
+    private record Key(long userId, String key) {
+    }
+
+    private static final class Entry {
+        private final Key key;
+        private final TransactionType type;
+        private final long amount;
+        private final long expiresAt;
+        private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+
+        private Entry(Key key, TransactionType type, long amount, long expiresAt) {
+            this.key = key;
+            this.type = type;
+            this.amount = amount;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean expired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> order = new ConcurrentLinkedQueue<>();
+    private final long ttlNanos;
+    private final int maximumSize;
+
+    IdempotencyCache(long ttlMillis, int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("캐시 크기는 0보다 커야 합니다.");
+        }
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.maximumSize = maximumSize;
+    }
+
+    UserPoint execute(long userId, String idempotencyKey, TransactionType type, long amount, Supplier<UserPoint> action) {
+        Key key = new Key(userId, idempotencyKey);
+        long now = System.nanoTime();
+        evict(now);
+        Entry fresh = new Entry(key, type, amount, now + ttlNanos);
+        while (true) {
+            Entry existing = entries.putIfAbsent(key, fresh);
+            if (existing == null) {
+                break;
+            }
+            if (!existing.expired(now)) {
+                if (existing.type != type || existing.amount != amount) {
+                    throw new IllegalArgumentException(MISMATCH_MESSAGE);
+                }
+                return join(existing);
+            }
+            entries.remove(key, existing);
+        }
+        order.add(fresh);
+        try {
+            fresh.result.complete(action.get());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            fresh.result.completeExceptionally(e);
+        } catch (RuntimeException e) {
+            entries.remove(key, fresh);
+            fresh.result.completeExceptionally(e);
+        }
+        return join(fresh);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        Entry oldest;
+        while ((oldest = order.peek()) != null && (oldest.expired(now) || entries.size() >= maximumSize)) {
+            if (order.remove(oldest)) {
+                entries.remove(oldest.key, oldest);
+            }
+        }
+    }
+
+    private static UserPoint join(Entry entry) {
+        try {
+            return entry.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
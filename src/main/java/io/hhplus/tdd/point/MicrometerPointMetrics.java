@@ -0,0 +1,89 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer 기반 PointMetrics (/actuator/metrics, /actuator/prometheus 로 노출)
+ * - point.lock.wait : 유저 락 획득까지 기다린 시간
+ * - point.table.call{call} : UserPointTable / PointHistoryTable 호출 시간
+ * - point.operation{operation, outcome} : 충전/사용/조회 전체 시간 (outcome 별 count 가 결과별 건수)
+ * - point.errors{exception, status} : 예외 핸들러가 응답으로 변환한 예외 건수
+ * 요청 경로에서 쓰는 타이머는 생성 시 enum 조합별로 모두 등록해 두고 배열 인덱스로 찾는다.
+ */
+@Component
+public class MicrometerPointMetrics implements PointMetrics {
+
+    private final MeterRegistry registry;
+    private final Timer lockWait;
+    private final Timer[] calls;
+    private final Timer[][] operations;
+
+    // 예외 종류는 미리 알 수 없으므로 처음 발생할 때 등록한다 (이후에는 조회만)
+    private final ConcurrentHashMap<Class<?>, Counter> errors = new ConcurrentHashMap<>();
+
+    public MicrometerPointMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.lockWait = Timer.builder("point.lock.wait")
+                .description("유저 락 획득 대기 시간")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        Call[] callValues = Call.values();
+        this.calls = new Timer[callValues.length];
+        for (Call call : callValues) {
+            calls[call.ordinal()] = Timer.builder("point.table.call")
+                    .description("포인트/내역 테이블 호출 시간")
+                    .tag("call", call.name().toLowerCase())
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        Operation[] operationValues = Operation.values();
+        Outcome[] outcomeValues = Outcome.values();
+        this.operations = new Timer[operationValues.length][outcomeValues.length];
+        for (Operation operation : operationValues) {
+            for (Outcome outcome : outcomeValues) {
+                operations[operation.ordinal()][outcome.ordinal()] = Timer.builder("point.operation")
+                        .description("충전/사용/조회 전체 처리 시간")
+                        .tag("operation", operation.name().toLowerCase())
+                        .tag("outcome", outcome.name().toLowerCase())
+                        .publishPercentileHistogram()
+                        .register(registry);
+            }
+        }
+    }
+
+    @Override
+    public void recordLockWait(long nanos) {
+        lockWait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordCall(Call call, long nanos) {
+        calls[call.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordOperation(Operation operation, Outcome outcome, long nanos) {
+        operations[operation.ordinal()][outcome.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordError(Throwable error, int status) {
+        Counter counter = errors.get(error.getClass());
+        if (counter == null) {
+            counter = errors.computeIfAbsent(error.getClass(), type -> Counter.builder("point.errors")
+                    .description("예외 핸들러가 처리한 예외 건수")
+                    .tag("exception", type.getSimpleName())
+                    .tag("status", String.valueOf(status))
+                    .register(registry));
+        }
+        counter.increment();
+    }
+}
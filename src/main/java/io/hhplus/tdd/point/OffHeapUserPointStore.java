@@ -0,0 +1,202 @@
+package io.hhplus.tdd.point;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 힙 밖 잔액 저장소 (open addressing, 선형 탐색)
+ * - 유저 하나 = 24바이트 칸 (id, point, updateMillis). 힙에는 세그먼트 객체만 있고 유저 수만큼의 객체가 생기지 않는다.
+ * - 유저 id 의 해시로 세그먼트를 나누고, 세그먼트마다 direct ByteBuffer 와 StampedLock 을 둔다.
+ *   쓰기는 쓰기 락, 읽기는 낙관적 읽기 후 검증에 실패할 때만 읽기 락을 잡는다.
+ * - 빈 칸은 id 0 으로 표시하므로(direct 버퍼는 0 으로 채워져 있다) id 0 유저는 세그먼트 필드에 따로 보관한다.
+ * - 힙 밖 메모리는 -XX:MaxDirectMemorySize 한도 안에서 잡히며, 세그먼트가 커질 때 이전 버퍼는 GC 시 반납된다.
+ */
+final class OffHeapUserPointStore implements UserPointStore {
+
+    private static final int SLOT_BYTES = 24;
+    private static final int SEGMENTS = 64;
+    private static final int MIN_SEGMENT_SLOTS = 16;
+    // 세그먼트 버퍼 하나의 최대 칸 수 (ByteBuffer 는 int 로 주소를 잡는다)
+    private static final int MAX_SEGMENT_SLOTS = 1 << 26;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    OffHeapUserPointStore(int initialCapacity) {
+        int perSegment = Math.max(MIN_SEGMENT_SLOTS, initialCapacity / SEGMENTS * 4 / 3 + 1);
+        int slots = Math.min(MAX_SEGMENT_SLOTS, Integer.highestOneBit(perSegment - 1) << 1);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(slots);
+        }
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        long hash = mix(id);
+        return segments[(int) (hash >>> 58)].get(id, (int) hash);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        long updateMillis = System.currentTimeMillis();
+        long hash = mix(id);
+        segments[(int) (hash >>> 58)].put(id, (int) hash, amount, updateMillis);
+        return new UserPoint(id, amount, updateMillis);
+    }
+
+    @Override
+    public long offHeapBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            bytes += segment.capacityBytes();
+        }
+        return bytes;
+    }
+
+    // 저장된 유저 수
+    long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    // 상위 6비트는 세그먼트, 하위 비트는 칸 위치로 쓴다
+    private static long mix(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    private static final class Segment {
+        private final StampedLock lock = new StampedLock();
+        private ByteBuffer slots;
+        private int mask;
+        private int size;
+
+        // id 0 유저 (빈 칸 표시와 겹치므로 따로 보관)
+        private boolean hasZero;
+        private long zeroPoint;
+        private long zeroMillis;
+
+        private Segment(int capacity) {
+            this.slots = ByteBuffer.allocateDirect(capacity * SLOT_BYTES);
+            this.mask = capacity - 1;
+        }
+
+        private UserPoint get(long id, int hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                UserPoint found = find(id, hash);
+                if (lock.validate(stamp)) {
+                    return found;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return find(id, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        // 낙관적 읽기 중에는 찢어진 값을 볼 수 있으므로, 결과는 validate 통과 후에만 쓴다
+        private UserPoint find(long id, int hash) {
+            if (id == 0) {
+                return hasZero ? new UserPoint(0, zeroPoint, zeroMillis) : UserPoint.empty(0);
+            }
+            ByteBuffer buffer = slots;
+            int capacity = buffer.capacity() / SLOT_BYTES;
+            int index = hash & (capacity - 1);
+            for (int probe = 0; probe < capacity; probe++) {
+                int offset = index * SLOT_BYTES;
+                long key = buffer.getLong(offset);
+                if (key == id) {
+                    return new UserPoint(id, buffer.getLong(offset + 8), buffer.getLong(offset + 16));
+                }
+                if (key == 0) {
+                    break;
+                }
+                index = (index + 1) & (capacity - 1);
+            }
+            return UserPoint.empty(id);
+        }
+
+        private void put(long id, int hash, long point, long updateMillis) {
+            long stamp = lock.writeLock();
+            try {
+                if (id == 0) {
+                    hasZero = true;
+                    zeroPoint = point;
+                    zeroMillis = updateMillis;
+                    return;
+                }
+                if ((size + 1) * 4L > (mask + 1) * 3L) {
+                    grow();
+                }
+                int offset = slotFor(slots, mask, id, hash);
+                if (slots.getLong(offset) == 0) {
+                    size++;
+                }
+                // 키를 마지막에 써서, 락 없이 훑는 reader 가 값이 채워지기 전의 키를 먼저 보지 않게 한다
+                slots.putLong(offset + 8, point);
+                slots.putLong(offset + 16, updateMillis);
+                slots.putLong(offset, id);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        // id 가 있는 칸, 없으면 비어 있는 첫 칸의 오프셋
+        private static int slotFor(ByteBuffer buffer, int mask, long id, int hash) {
+            int index = hash & mask;
+            while (true) {
+                int offset = index * SLOT_BYTES;
+                long key = buffer.getLong(offset);
+                if (key == id || key == 0) {
+                    return offset;
+                }
+                index = (index + 1) & mask;
+            }
+        }
+
+        private void grow() {
+            int capacity = mask + 1;
+            if (capacity >= MAX_SEGMENT_SLOTS) {
+                throw new IllegalStateException("잔액 저장소 세그먼트가 가득 찼습니다 (" + capacity + ")");
+            }
+            int newCapacity = capacity * 2;
+            ByteBuffer grown = ByteBuffer.allocateDirect(newCapacity * SLOT_BYTES);
+            int newMask = newCapacity - 1;
+            for (int offset = 0; offset < capacity * SLOT_BYTES; offset += SLOT_BYTES) {
+                long key = slots.getLong(offset);
+                if (key == 0) {
+                    continue;
+                }
+                int target = slotFor(grown, newMask, key, (int) mix(key));
+                grown.putLong(target, key);
+                grown.putLong(target + 8, slots.getLong(offset + 8));
+                grown.putLong(target + 16, slots.getLong(offset + 16));
+            }
+            slots = grown;
+            mask = newMask;
+        }
+
+        private long capacityBytes() {
+            long stamp = lock.readLock();
+            try {
+                return slots.capacity();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private int size() {
+            long stamp = lock.readLock();
+            try {
+                return size + (hasZero ? 1 : 0);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+}
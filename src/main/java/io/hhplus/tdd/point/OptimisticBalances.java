@@ -0,0 +1,162 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * 낙관적 동시성 모드의 유저별 버전 잔액 (point.optimistic.enabled)
+ * - 테이블은 바꿀 수 없으므로 (잔액, 버전)을 서비스 쪽에 두고, 처음 쓰는 유저만 테이블에서 읽어 온다.
+ * - 충전/사용은 현재 버전을 읽어 새 잔액을 계산하고, 버전이 그대로일 때만 compare-and-set 으로 커밋한다.
+ *   충돌하면 잠깐 물러났다가(지수 backoff + 지터) 다시 읽어 계산하고, maxAttempts 번 실패하면 409 로 돌려준다.
+ * - 커밋된 버전은 직전 버전을 가리키고, 유저의 writer 가 아직 기록하지 않은 버전들을 순서대로 테이블/내역에 남긴다.
+ *   writer 는 저널에 남은(confirm 된) 버전까지만 기록하므로, 저널에 없는 변경이 테이블/내역에 먼저 나가지 않는다.
+ * - 한 번 읽어 온 유저의 버전은 지우지 않는다 (이후 조회/변경은 테이블을 거치지 않는다).
+ * - 저널에 남기지 못한 커밋은 revert 로 되돌린다. 그 위에 이미 다른 커밋이 쌓였으면 되돌릴 수 없으므로,
+ *   그 유저의 조회/변경을 409 로 거절해 저널에 없는 잔액이 더 퍼지지 않게 한다.
+ */
+class OptimisticBalances {
+
+    static final String CONFLICT_MESSAGE = "동시 변경이 많아 처리하지 못했습니다. 다시 시도해 주세요.";
+    static final String UNCONFIRMED_MESSAGE = "저널에 남기지 못한 변경이 있어 잔액을 확정할 수 없습니다.";
+
+    private static final int SPIN_ATTEMPTS = 2;
+
+    /**
+     * 잔액의 한 버전 (version 0 은 테이블에서 읽어 온 값, 그 뒤로는 type/amount 변경이 만든 값)
+     * - confirmed 는 저널 기록을 마친 뒤 켜진다 (저널이 없으면 커밋 직후).
+     * - previous / persisted 는 유저의 writer 가 기록을 마치면 정리한다.
+     */
+    static final class Version {
+        final long point;
+        final long version;
+        final long updateMillis;
+        final TransactionType type;
+        final long amount;
+        volatile Version previous;
+        volatile boolean confirmed;
+        volatile boolean persisted;
+
+        private Version(long point, long version, long updateMillis, TransactionType type, long amount,
+                        Version previous, boolean persisted) {
+            this.point = point;
+            this.version = version;
+            this.updateMillis = updateMillis;
+            this.type = type;
+            this.amount = amount;
+            this.previous = previous;
+            this.confirmed = persisted;
+            this.persisted = persisted;
+        }
+
+        UserPoint toUserPoint(long userId) {
+            return new UserPoint(userId, point, updateMillis);
+        }
+    }
+
+    private final ConcurrentHashMap<Long, Version> versions = new ConcurrentHashMap<>();
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final LongAdder conflicts = new LongAdder();
+    private final Set<Long> unconfirmed = ConcurrentHashMap.newKeySet();
+
+    OptimisticBalances(int maxAttempts, long initialBackoffNanos, long maxBackoffNanos) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffNanos = Math.max(1, initialBackoffNanos);
+        this.maxBackoffNanos = Math.max(this.initialBackoffNanos, maxBackoffNanos);
+    }
+
+    // 최신 버전, 처음 보는 유저는 loader(테이블)에서 읽어 온다
+    Version current(long userId, LongFunction<UserPoint> loader) {
+        if (unconfirmed.contains(userId)) {
+            throw new IllegalStateException(UNCONFIRMED_MESSAGE);
+        }
+        Version current = versions.get(userId);
+        if (current != null) {
+            return current;
+        }
+        UserPoint loaded = loader.apply(userId);
+        Version base = new Version(loaded.point(), 0, loaded.updateMillis(), null, 0, null, true);
+        Version raced = versions.putIfAbsent(userId, base);
+        return raced != null ? raced : base;
+    }
+
+    /**
+     * 변경 하나를 커밋하고 새 버전을 돌려준다.
+     * 잔액 규칙 위반(잔액 부족, 범위 초과)은 재시도 없이 그대로 던진다.
+     */
+    Version commit(long userId, TransactionType type, long amount, LongFunction<UserPoint> loader) {
+        long backoff = initialBackoffNanos;
+        for (int attempt = 1; ; attempt++) {
+            Version current = current(userId, loader);
+            long newPoint = PointRules.apply(current.point, type, amount);
+            Version next = new Version(newPoint, current.version + 1, System.currentTimeMillis(), type, amount,
+                    current, false);
+            if (versions.replace(userId, current, next)) {
+                return next;
+            }
+            conflicts.increment();
+            if (attempt >= maxAttempts) {
+                throw new IllegalStateException(CONFLICT_MESSAGE);
+            }
+            if (attempt <= SPIN_ATTEMPTS) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1));
+                backoff = Math.min(maxBackoffNanos, backoff * 2);
+            }
+        }
+    }
+
+    // 저널 기록을 마친 버전을 writer 가 기록할 수 있게 표시한다
+    void confirm(Version committed) {
+        committed.confirmed = true;
+    }
+
+    /**
+     * 저널에 남기지 못한 커밋을 되돌린다.
+     * 그 사이 다른 커밋이 이 버전 위에 쌓였으면 되돌릴 수 없으므로, 유저를 미확정으로 표시한다
+     * (confirm 되지 않은 버전과 그 뒤 버전은 writer 가 기록하지 않는다).
+     */
+    void revert(long userId, Version failed) {
+        if (!versions.replace(userId, failed, failed.previous)) {
+            unconfirmed.add(userId);
+        }
+    }
+
+    // 유저의 writer 에서 호출: 아직 기록하지 않은 버전 중 confirm 된 앞부분 (오래된 순)
+    List<Version> unpersisted(long userId) {
+        ArrayDeque<Version> pending = new ArrayDeque<>();
+        for (Version version = versions.get(userId); version != null && !version.persisted; version = version.previous) {
+            pending.addFirst(version);
+        }
+        List<Version> confirmed = new ArrayList<>(pending.size());
+        for (Version version : pending) {
+            if (!version.confirmed) {
+                break;
+            }
+            confirmed.add(version);
+        }
+        return confirmed;
+    }
+
+    // 유저의 writer 에서 호출: 기록을 마친 버전을 표시하고 이전 버전 연결을 끊는다
+    void markPersisted(List<Version> persisted) {
+        for (Version version : persisted) {
+            version.persisted = true;
+            version.previous = null;
+        }
+    }
+
+    // 커밋 충돌(재시도) 횟수 누계
+    long conflicts() {
+        return conflicts.sum();
+    }
+}
@@ -0,0 +1,19 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 배치 처리 대기 중인 충전/사용 요청 한 건
+ * - 요청한 스레드는 result 로 자신의 결과(또는 예외)를 돌려받는다.
+ */
+final class PendingMutation {
+
+    final TransactionType type;
+    final long amount;
+    final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+
+    PendingMutation(TransactionType type, long amount) {
+        this.type = type;
+        this.amount = amount;
+    }
+}
@@ -0,0 +1,40 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 잔액 캐시 통계를 미터로 노출 (point.cache.*)
+ * - 수집 시점에 PointService.cacheStats() 를 읽으며, 캐시가 꺼져 있으면 모두 0 이다.
+ */
+@Component
+public class PointCacheMetrics implements MeterBinder {
+
+    private final PointService pointService;
+
+    public PointCacheMetrics(PointService pointService) {
+        this.pointService = pointService;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("point.cache.requests", pointService, service -> stats(service).hits())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("point.cache.requests", pointService, service -> stats(service).misses())
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("point.cache.evictions", pointService, service -> stats(service).evictions())
+                .register(registry);
+        Gauge.builder("point.cache.size", pointService, service -> stats(service).size())
+                .register(registry);
+    }
+
+    private static UserPointCache.Stats stats(PointService service) {
+        UserPointCache.Stats stats = service.cacheStats();
+        return stats == null ? new UserPointCache.Stats(0, 0, 0, 0) : stats;
+    }
+}
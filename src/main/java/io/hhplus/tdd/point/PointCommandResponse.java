@@ -0,0 +1,33 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.GlobalPointExceptionHandler;
+
+/**
+ * 일괄 처리 응답 한 건
+ * - status : 단건 API 였다면 받았을 HTTP 상태 (200 / 400 / 409 / 500)
+ * - point : 성공 시 반영 직후 잔액
+ * - error : 실패 시 단건 API 와 같은 메시지
+ */
+public record PointCommandResponse(
+        long userId,
+        TransactionType type,
+        long amount,
+        int status,
+        UserPoint point,
+        ErrorResponse error
+) {
+
+    // 본문의 null 항목은 요청 내용 없이 400 결과만 남긴다
+    private static final PointCommand EMPTY = new PointCommand(0, null, 0);
+
+    static PointCommandResponse from(PointCommandResult result) {
+        PointCommand command = result.command() != null ? result.command() : EMPTY;
+        if (result.error() == null) {
+            return new PointCommandResponse(command.userId(), command.type(), command.amount(), 200, result.point(), null);
+        }
+        ErrorResponse error = GlobalPointExceptionHandler.toErrorResponse(result.error());
+        return new PointCommandResponse(command.userId(), command.type(), command.amount(),
+                Integer.parseInt(error.code()), null, error);
+    }
+}
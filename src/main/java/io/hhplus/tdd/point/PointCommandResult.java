@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 처리 결과 한 건
+ * - 성공 시 point 에 반영 직후 잔액, 실패 시 error 에 단건 API 와 같은 예외가 담긴다.
+ */
+public record PointCommandResult(
+        PointCommand command,
+        UserPoint point,
+        RuntimeException error
+) {
+}
@@ -1,13 +1,20 @@
 package io.hhplus.tdd.point;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
+// point.reactive.enabled 이면 같은 경로를 ReactivePointController 가 처리한다
 @RestController
 @RequestMapping("/point") 
+@ConditionalOnProperty(prefix = "point.reactive", name = "enabled", havingValue = "false", matchIfMissing = true)
 public class PointController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final PointService pointService;
 
     public PointController(PointService pointService) {
@@ -19,9 +26,44 @@ public class PointController {
         return pointService.get(id);
     }
 
+    // 여러 유저 잔액을 ids 순서대로 (GET /point?ids=1,2,3)
+    @GetMapping
+    public List<UserPoint> getPoints(@RequestParam List<Long> ids) {
+        return pointService.getAll(ids);
+    }
+
+    // 경합이 몰려 배치 경로로 처리 중인 유저 목록 (point.hot-user.enabled)
+    @GetMapping("/hot-users")
+    public List<HotUser> hotUsers() {
+        return pointService.hotUsers();
+    }
+
+    // 조건이 하나도 없으면 전체 내역, 있으면 조건에 맞는 한 페이지 + 다음 커서(X-Next-Cursor 헤더)
     @GetMapping("/{id}/histories")
-    public List<PointHistory> getHistories(@PathVariable long id) {
-        return pointService.histories(id);
+    public ResponseEntity<List<PointHistory>> getHistories(@PathVariable long id,
+                                                           @RequestParam(required = false) Integer limit,
+                                                           @RequestParam(required = false) Long cursor,
+                                                           @RequestParam(required = false) Long from,
+                                                           @RequestParam(required = false) Long to,
+                                                           @RequestParam(required = false) TransactionType type) {
+        if (limit == null && cursor == null && from == null && to == null && type == null) {
+            return ResponseEntity.ok(pointService.histories(id));
+        }
+        PointHistoryPage page = pointService.histories(id, PointHistoryQuery.of(cursor, from, to, type, limit));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        return response.body(page.items());
+    }
+
+    // 기간별 충전/사용 합계와 시간(HOUR)/일(DAY) 단위 칸, from/to 는 epoch millis (없으면 처음/끝까지)
+    @GetMapping("/{id}/summary")
+    public PointSummary getSummary(@PathVariable long id,
+                                   @RequestParam(defaultValue = "DAY") PointSummary.Granularity bucket,
+                                   @RequestParam(required = false) Long from,
+                                   @RequestParam(required = false) Long to) {
+        return pointService.summary(id, bucket, from, to);
     }
 
     // 순수 문자열 바디를 숫자로 판정 (비어있음/공백/숫자아님 → null)
@@ -33,24 +75,53 @@ public class PointController {
         catch (NumberFormatException e) { return null; }
     }
 
-    @PatchMapping("/{id}/charge")
-    public UserPoint charge(@PathVariable long id, @RequestBody(required = false) String body) {
+    // 충전/사용 금액 (0보다 큰 정수가 아니면 400)
+    static long requireAmount(String body) {
         Long amount = parseAmount(body);
         if (amount == null || amount <= 0) {
             // 전역 핸들러가 400 + 이 메시지로 내려줌
             throw new IllegalArgumentException("금액은 0보다 큰 정수여야 합니다.");
         }
+        return amount;
+    }
+
+    // 헤더가 없으면 null, 있으면 1~255자
+    static String validateIdempotencyKey(String key) {
+        if (key == null) return null;
+        if (key.isBlank() || key.length() > 255) {
+            throw new IllegalArgumentException("Idempotency-Key 는 1~255자여야 합니다.");
+        }
+        return key;
+    }
+
+    // 같은 Idempotency-Key 의 재시도는 다시 반영하지 않고 처음 결과(잔액 또는 오류)를 돌려준다
+    @PatchMapping("/{id}/charge")
+    public UserPoint charge(@PathVariable long id, @RequestBody(required = false) String body,
+                            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        long amount = requireAmount(body);
         // 오버플로 시 서비스가 IllegalArgumentException("허용 범위를 초과합니다.") 던짐 
-        return pointService.charge(id, amount);
+        return pointService.charge(id, amount, validateIdempotencyKey(idempotencyKey));
     }
 
     @PatchMapping("/{id}/use")
-    public UserPoint use(@PathVariable long id, @RequestBody(required = false) String body) {
-        Long amount = parseAmount(body);
-        if (amount == null || amount <= 0) {
-            throw new IllegalArgumentException("금액은 0보다 큰 정수여야 합니다.");
-        }
+    public UserPoint use(@PathVariable long id, @RequestBody(required = false) String body,
+                         @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        long amount = requireAmount(body);
         // 잔액 부족 시 서비스가 IllegalStateException("잔액 부족") 던짐
-        return pointService.use(id, amount);
+        return pointService.use(id, amount, validateIdempotencyKey(idempotencyKey));
+    }
+
+    // fromId → toId 이체, 두 잔액과 출금/입금 내역이 함께 반영된다 (잔액 부족 409)
+    @PostMapping("/transfer")
+    public PointTransfer transfer(@RequestBody PointTransferRequest request) {
+        return pointService.transfer(request.fromId(), request.toId(), request.amount());
+    }
+
+    // 여러 유저의 충전/사용을 한 번에 처리, 결과는 요청 순서대로 건별 성공/실패
+    @PostMapping("/batch")
+    public List<PointCommandResponse> batch(@RequestBody List<PointCommand> commands) {
+        return pointService.applyAll(commands).stream()
+                .map(PointCommandResponse::from)
+                .toList();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,525 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.GlobalPointExceptionHandler;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 클러스터 모드 요청 전달 (point.cluster.enabled)
+ * - /point/{id}, /point/{id}/** 요청의 유저를 다른 노드가 소유하면, 그 노드로 넘기고 응답을 그대로 돌려준다.
+ *   소유 노드는 정적 멤버 목록(point.cluster.members)으로 만든 consistent-hash ring 으로 정한다.
+ * - GET /point?ids= 는 id 를 소유 노드별로 나눠 동시에 조회하고, 요청한 id 순서대로 합친다.
+ *   이 노드 몫은 HTTP 를 거치지 않고 PointService 로 바로 조회한다 (다른 노드 요청을 먼저 보내 두고 기다리는 동안).
+ *   한 노드라도 닿지 못하면 503, 거절하면 그 응답을 그대로 돌려준다 (일부만 맞는 잔액을 돌려주지 않는다).
+ * - POST /point/batch 는 명령을 소유 노드별로 나눠 동시에 보내고, 건별 결과를 요청 순서대로 합친다
+ *   (모두 한 노드 소유면 그 노드로 그대로 넘긴다). 이 노드 몫은 PointService 로 바로 처리하고, 닿지 못한 노드 몫의 명령만 503 결과가 된다.
+ * - POST /point/transfer 는 두 유저의 소유 노드가 같으면 그 노드에서 처리하고, 다르면 409 로 거절한다
+ *   (노드를 건너는 이체는 한쪽만 반영될 수 있으므로 지원하지 않는다).
+ * - 넘긴 요청에는 X-Point-Forwarded 헤더에 공유 비밀값(point.cluster.secret)을 담고, 값이 맞는 요청만 다시 넘기지 않고 처리한다
+ *   (노드끼리 멤버 목록이 어긋나도 한 번만 넘어간다). 값이 틀린 헤더는 없는 것으로 보고 그대로 전달 규칙을 따른다.
+ * - 소유 노드에 닿지 못하거나 시간 안에 응답이 없으면 503. 충전/사용은 반영 여부를 알 수 없으므로 Idempotency-Key 로 재시도한다.
+ * - 본문이 형식에 맞지 않거나 최대 건수를 넘는 요청은 받은 노드의 컨트롤러가 400 으로 거절한다 (형식이 틀린 ids 는 이 필터가 400).
+ * - 경로에 유저 id 가 없는 나머지 요청(/point/hot-users, 전체 내보내기)은 받은 노드에서 처리한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.cluster", name = "enabled", havingValue = "true")
+public class PointForwardingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(PointForwardingFilter.class);
+
+    static final String FORWARDED_HEADER = "X-Point-Forwarded";
+    static final String CROSS_OWNER_TRANSFER_MESSAGE = "소유 노드가 다른 유저끼리는 이체할 수 없습니다.";
+
+    private static final Pattern USER_PATH = Pattern.compile("^/point/(-?\\d+)(/.*)?$");
+    private static final String POINTS_PATH = "/point";
+    private static final String BATCH_PATH = "/point/batch";
+    private static final String TRANSFER_PATH = "/point/transfer";
+    private static final List<String> REQUEST_HEADERS =
+            List.of("Content-Type", "Accept", PointController.IDEMPOTENCY_KEY_HEADER);
+    private static final List<String> RESPONSE_HEADERS =
+            List.of("Content-Type", PointController.NEXT_CURSOR_HEADER);
+    private static final TypeReference<List<PointCommand>> COMMANDS = new TypeReference<>() {
+    };
+
+    private final PointOwnerRing ring;
+    private final String self;
+    private final String secret;
+    private final HttpClient client;
+    private final Duration forwardTimeout;
+    private final int maxIds;
+    private final int maxCommands;
+    private final ObjectMapper objectMapper;
+    // 이 노드 몫의 다건 조회/일괄 처리를 직접 실행
+    private final PointService pointService;
+    private final PointMetrics metrics;
+
+    public PointForwardingFilter(PointProperties properties, ObjectMapper objectMapper, PointService pointService,
+                                 PointMetrics metrics) {
+        PointProperties.Cluster cluster = properties.getCluster();
+        List<String> members = cluster.getMembers().stream().map(PointForwardingFilter::normalize).toList();
+        this.self = normalize(cluster.getSelf());
+        if (!members.contains(self)) {
+            throw new IllegalArgumentException("point.cluster.self 가 point.cluster.members 에 없습니다: " + self);
+        }
+        if (cluster.getSecret() == null || cluster.getSecret().isBlank()) {
+            throw new IllegalArgumentException("point.cluster.secret 을 설정해야 합니다.");
+        }
+        this.secret = cluster.getSecret();
+        this.ring = new PointOwnerRing(members, cluster.getVirtualNodes());
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(cluster.getConnectTimeoutMillis()))
+                .build();
+        this.forwardTimeout = Duration.ofMillis(cluster.getForwardTimeoutMillis());
+        this.maxIds = properties.getMultiGet().getMaxIds();
+        this.maxCommands = properties.getBulk().getMaxCommands();
+        this.objectMapper = objectMapper;
+        this.pointService = pointService;
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (forwarded(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (POINTS_PATH.equals(path) && "GET".equals(request.getMethod()) && request.getParameterValues("ids") != null) {
+            multiGet(request, response, chain);
+            return;
+        }
+        if (BATCH_PATH.equals(path) && "POST".equals(request.getMethod())) {
+            batch(request, response, chain);
+            return;
+        }
+        if (TRANSFER_PATH.equals(path) && "POST".equals(request.getMethod())) {
+            transfer(request, response, chain);
+            return;
+        }
+        String owner = ownerOf(path);
+        if (owner == null || owner.equals(self)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        forward(owner, request, request.getInputStream().readAllBytes(), response);
+    }
+
+    // 다른 노드가 넘긴 요청인지 (헤더 값이 공유 비밀값과 같을 때만)
+    private boolean forwarded(HttpServletRequest request) {
+        String value = request.getHeader(FORWARDED_HEADER);
+        return value != null && MessageDigest.isEqual(
+                value.getBytes(StandardCharsets.UTF_8), secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 경로의 유저를 소유한 노드, 경로에 유저 id 가 없으면 null
+    private String ownerOf(String path) {
+        Matcher matcher = USER_PATH.matcher(path);
+        if (!matcher.matches()) {
+            return null;
+        }
+        try {
+            return ring.ownerOf(Long.parseLong(matcher.group(1)));
+        } catch (NumberFormatException e) {
+            // long 범위를 넘는 id 는 받은 노드의 컨트롤러가 400 으로 처리
+            return null;
+        }
+    }
+
+    private void multiGet(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        List<Long> ids = new ArrayList<>();
+        for (String value : request.getParameterValues("ids")) {
+            for (String token : value.split(",", -1)) {
+                if (token.isBlank()) {
+                    // 빈 id 는 받은 노드의 컨트롤러가 잔액을 읽기 전에 400 으로 거절한다
+                    chain.doFilter(request, response);
+                    return;
+                }
+                try {
+                    ids.add(Long.parseLong(token.trim()));
+                } catch (NumberFormatException e) {
+                    plainText(response, 400, "유저 id 형식이 올바르지 않습니다: " + token);
+                    return;
+                }
+            }
+        }
+        if (ids.size() > maxIds) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Map<String, List<Long>> idsByOwner = new LinkedHashMap<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            idsByOwner.computeIfAbsent(ring.ownerOf(id), key -> new ArrayList<>()).add(id);
+        }
+        if (idsByOwner.size() == 1) {
+            String owner = idsByOwner.keySet().iterator().next();
+            if (owner.equals(self)) {
+                chain.doFilter(request, response);
+            } else {
+                forward(owner, request, new byte[0], response);
+            }
+            return;
+        }
+
+        Map<String, CompletableFuture<HttpResponse<byte[]>>> answers = new LinkedHashMap<>();
+        idsByOwner.forEach((owner, ownerIds) -> {
+            if (!owner.equals(self)) {
+                answers.put(owner, send(owner, request.getContextPath() + POINTS_PATH
+                        + "?ids=" + ownerIds.stream().map(String::valueOf).collect(Collectors.joining(",")), null));
+            }
+        });
+        Map<Long, JsonNode> points = new HashMap<>();
+        List<Long> ownIds = idsByOwner.get(self);
+        if (ownIds != null) {
+            try {
+                pointService.getAll(ownIds).forEach(point -> points.put(point.id(), objectMapper.valueToTree(point)));
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                // 컨트롤러였다면 GlobalPointExceptionHandler 가 돌려줬을 상태/메시지
+                ErrorResponse error = GlobalPointExceptionHandler.toErrorResponse(e);
+                int status = Integer.parseInt(error.code());
+                metrics.recordError(e, status);
+                plainText(response, status, error.message());
+                return;
+            }
+        }
+        for (Map.Entry<String, CompletableFuture<HttpResponse<byte[]>>> entry : answers.entrySet()) {
+            String owner = entry.getKey();
+            HttpResponse<byte[]> answer = await(owner, entry.getValue());
+            if (answer == null) {
+                unavailable(response, owner);
+                return;
+            }
+            if (answer.statusCode() != 200) {
+                response.setStatus(answer.statusCode());
+                answer.headers().firstValue("Content-Type").ifPresent(response::setContentType);
+                response.getOutputStream().write(answer.body());
+                return;
+            }
+            JsonNode items = readTree(answer.body());
+            if (items == null || !items.isArray()) {
+                plainText(response, 502, "소유 노드(" + owner + ")의 응답이 요청과 맞지 않습니다.");
+                return;
+            }
+            items.forEach(item -> points.put(item.path("id").asLong(), item));
+        }
+        ArrayNode merged = objectMapper.createArrayNode();
+        for (Long id : ids) {
+            JsonNode point = points.get(id);
+            if (point == null) {
+                plainText(response, 502, "소유 노드(" + ring.ownerOf(id) + ")의 응답에 유저 " + id + " 가 없습니다.");
+                return;
+            }
+            merged.add(point);
+        }
+        writeJson(response, merged);
+    }
+
+    private void batch(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        byte[] body = request.getInputStream().readAllBytes();
+        List<PointCommand> commands = readCommands(body);
+        if (commands == null || commands.size() > maxCommands) {
+            chain.doFilter(new BufferedBodyRequest(request, body), response);
+            return;
+        }
+        // null 항목은 어느 노드에서 처리해도 400 이므로 받은 노드 몫으로 둔다
+        Map<String, List<Integer>> indexesByOwner = new LinkedHashMap<>();
+        for (int i = 0; i < commands.size(); i++) {
+            PointCommand command = commands.get(i);
+            String owner = command == null ? self : ring.ownerOf(command.userId());
+            indexesByOwner.computeIfAbsent(owner, key -> new ArrayList<>()).add(i);
+        }
+        if (indexesByOwner.size() <= 1) {
+            String owner = indexesByOwner.isEmpty() ? self : indexesByOwner.keySet().iterator().next();
+            if (owner.equals(self)) {
+                chain.doFilter(new BufferedBodyRequest(request, body), response);
+            } else {
+                forward(owner, request, body, response);
+            }
+            return;
+        }
+
+        Map<String, CompletableFuture<HttpResponse<byte[]>>> answers = new LinkedHashMap<>();
+        indexesByOwner.forEach((owner, indexes) -> {
+            if (!owner.equals(self)) {
+                List<PointCommand> group = indexes.stream().map(commands::get).toList();
+                answers.put(owner, send(owner, request.getContextPath() + BATCH_PATH, group));
+            }
+        });
+        JsonNode[] results = new JsonNode[commands.size()];
+        List<Integer> ownIndexes = indexesByOwner.get(self);
+        if (ownIndexes != null) {
+            List<PointCommandResult> own = pointService.applyAll(ownIndexes.stream().map(commands::get).toList());
+            for (int k = 0; k < ownIndexes.size(); k++) {
+                results[ownIndexes.get(k)] = objectMapper.valueToTree(PointCommandResponse.from(own.get(k)));
+            }
+        }
+        for (Map.Entry<String, CompletableFuture<HttpResponse<byte[]>>> entry : answers.entrySet()) {
+            String owner = entry.getKey();
+            List<Integer> indexes = indexesByOwner.get(owner);
+            HttpResponse<byte[]> answer = await(owner, entry.getValue());
+            JsonNode items = answer != null && answer.statusCode() == 200 ? readTree(answer.body()) : null;
+            boolean complete = items != null && items.isArray() && items.size() == indexes.size();
+            for (int k = 0; k < indexes.size(); k++) {
+                int index = indexes.get(k);
+                results[index] = complete ? items.get(k) : failed(owner, commands.get(index), answer);
+            }
+        }
+        ArrayNode merged = objectMapper.createArrayNode();
+        for (JsonNode result : results) {
+            merged.add(result);
+        }
+        writeJson(response, merged);
+    }
+
+    private void transfer(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        byte[] body = request.getInputStream().readAllBytes();
+        PointTransferRequest transfer = readTransfer(body);
+        if (transfer == null) {
+            chain.doFilter(new BufferedBodyRequest(request, body), response);
+            return;
+        }
+        String owner = ring.ownerOf(transfer.fromId());
+        if (!owner.equals(ring.ownerOf(transfer.toId()))) {
+            plainText(response, 409, CROSS_OWNER_TRANSFER_MESSAGE);
+            return;
+        }
+        if (owner.equals(self)) {
+            chain.doFilter(new BufferedBodyRequest(request, body), response);
+        } else {
+            forward(owner, request, body, response);
+        }
+    }
+
+    // 이체 요청으로 읽을 수 없으면 null
+    private PointTransferRequest readTransfer(byte[] body) {
+        try {
+            return objectMapper.readValue(body, PointTransferRequest.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // 명령 목록으로 읽을 수 없으면 null
+    private List<PointCommand> readCommands(byte[] body) {
+        try {
+            return objectMapper.readValue(body, COMMANDS);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // JSON 으로 읽을 수 없으면 null
+    private JsonNode readTree(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // 소유 노드가 처리하지 못한 명령의 건별 결과 (닿지 못하면 503, 노드가 거절하면 그 상태와 메시지)
+    private JsonNode failed(String owner, PointCommand command, HttpResponse<byte[]> answer) {
+        int status = answer == null ? 503 : answer.statusCode() == 200 ? 502 : answer.statusCode();
+        String message = answer == null
+                ? unreachable(owner)
+                : answer.statusCode() == 200
+                ? "소유 노드(" + owner + ")의 응답이 요청과 맞지 않습니다."
+                : new String(answer.body(), StandardCharsets.UTF_8);
+        PointCommand attempted = command != null ? command : new PointCommand(0, null, 0);
+        return objectMapper.valueToTree(new PointCommandResponse(attempted.userId(), attempted.type(),
+                attempted.amount(), status, null, new ErrorResponse(String.valueOf(status), message)));
+    }
+
+    // 소유 노드로 나눈 요청을 비동기로 보낸다 (본문이 없으면 GET, 있으면 JSON 으로 POST)
+    private CompletableFuture<HttpResponse<byte[]>> send(String owner, String pathAndQuery, Object body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(owner + pathAndQuery))
+                .timeout(forwardTimeout)
+                .header(FORWARDED_HEADER, secret)
+                .header("Accept", "application/json");
+        if (body == null) {
+            request.GET();
+        } else {
+            try {
+                request.header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    // 소유 노드의 응답, 닿지 못하거나 시간 안에 응답이 없으면 null
+    private static HttpResponse<byte[]> await(String owner, CompletableFuture<HttpResponse<byte[]>> answer) {
+        try {
+            return answer.join();
+        } catch (CompletionException e) {
+            log.warn("point request forward to {} failed: {}", owner, String.valueOf(e.getCause()));
+            return null;
+        }
+    }
+
+    private void forward(String owner, HttpServletRequest request, byte[] body, HttpServletResponse response)
+            throws IOException {
+        String query = request.getQueryString();
+        URI uri = URI.create(owner + request.getRequestURI() + (query == null ? "" : "?" + query));
+        HttpRequest.Builder forwarded = HttpRequest.newBuilder(uri)
+                .timeout(forwardTimeout)
+                .method(request.getMethod(), body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body))
+                .header(FORWARDED_HEADER, secret);
+        for (String name : REQUEST_HEADERS) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                forwarded.header(name, value);
+            }
+        }
+
+        HttpResponse<InputStream> answer;
+        try {
+            answer = client.send(forwarded.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException e) {
+            log.warn("point request forward to {} failed: {}", owner, e.toString());
+            unavailable(response, owner);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            unavailable(response, owner);
+            return;
+        }
+
+        response.setStatus(answer.statusCode());
+        for (String name : RESPONSE_HEADERS) {
+            answer.headers().firstValue(name).ifPresent(value -> response.setHeader(name, value));
+        }
+        // 스트리밍 응답(NDJSON)도 받는 대로 흘려보낸다
+        try (InputStream in = answer.body()) {
+            in.transferTo(response.getOutputStream());
+        }
+    }
+
+    private void writeJson(HttpServletResponse response, JsonNode body) throws IOException {
+        response.setStatus(200);
+        response.setContentType("application/json");
+        response.getOutputStream().write(objectMapper.writeValueAsBytes(body));
+    }
+
+    private static void unavailable(HttpServletResponse response, String owner) throws IOException {
+        plainText(response, 503, unreachable(owner));
+    }
+
+    private static void plainText(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType("text/plain");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(message);
+    }
+
+    private static String unreachable(String owner) {
+        return "소유 노드(" + owner + ")에 연결하지 못했습니다.";
+    }
+
+    private static String normalize(String member) {
+        String trimmed = member.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+
+    // 필터에서 먼저 읽은 본문을 컨트롤러가 다시 읽을 수 있게 한다
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // 본문이 이미 메모리에 있으므로 바로 다 읽을 수 있다
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 포인트 내역 NDJSON 내보내기 (정산/대사 배치용)
+ * - 전체 목록을 만들지 않고 CHUNK_SIZE 건씩 읽어 응답 스트림에 바로 쓰고 flush 한다.
+ * - 클라이언트가 중간에 끊으면 조용히 중단한다.
+ */
+@RestController
+@RequestMapping("/point")
+public class PointHistoryExportController {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryExportController.class);
+    private static final int CHUNK_SIZE = 256;
+
+    private final PointService pointService;
+    private final ObjectMapper objectMapper;
+
+    public PointHistoryExportController(PointService pointService, ObjectMapper objectMapper) {
+        this.pointService = pointService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping(value = "/{id}/histories/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream(@PathVariable long id) {
+        return ndjson(generator -> writeUser(generator, id));
+    }
+
+    @GetMapping(value = "/histories/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAll() {
+        return ndjson(generator -> {
+            for (long userId : pointService.historyUserIds()) {
+                writeUser(generator, userId);
+            }
+        });
+    }
+
+    private interface RowWriter {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(RowWriter rows) {
+        StreamingResponseBody body = (OutputStream out) -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                // 응답 스트림은 컨테이너가 닫는다, 줄바꿈은 직접 쓴다
+                generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+                generator.setRootValueSeparator(null);
+                rows.write(generator);
+                generator.flush();
+            } catch (IOException e) {
+                // 클라이언트 연결 끊김: 더 쓸 곳이 없으므로 중단
+                log.debug("history export aborted: {}", e.getMessage());
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private void writeUser(JsonGenerator generator, long userId) throws IOException {
+        Long cursor = null;
+        do {
+            PointHistoryPage page = pointService.histories(userId, PointHistoryQuery.of(cursor, null, null, null, CHUNK_SIZE));
+            for (PointHistory history : page.items()) {
+                generator.writeObject(history);
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+            cursor = page.nextCursor();
+        } while (cursor != null);
+    }
+}
@@ -0,0 +1,150 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 유저별 포인트 내역 인덱스 (PointHistoryTable 보조 인덱스)
+ * - PointHistoryTable.selectAllByUserId 는 전체 내역을 훑기 때문에, 유저별 append-only 배열을 따로 둔다.
+ * - 유저를 처음 조회할 때 테이블에서 한 번 채우고(bootstrap), 이후에는 PointService 가 기록할 때마다 덧붙인다.
+ * - bootstrap/append 는 유저의 내역 writer(유저 락 보유 스레드, 비동기 모드에서는 파티션 writer)만 호출하고, 조회는 락 없이 가능하다.
+ */
+class PointHistoryIndex {
+
+    private final ConcurrentHashMap<Long, UserHistory> byUser = new ConcurrentHashMap<>();
+
+    // 서비스를 통해 내역이 기록되었거나 조회된 유저 (전체 내보내기 대상)
+    private final Set<Long> knownUsers = ConcurrentHashMap.newKeySet();
+
+    // 아직 채워지지 않은 유저면 null
+    UserHistory find(long userId) {
+        return byUser.get(userId);
+    }
+
+    UserHistory bootstrap(long userId, Supplier<List<PointHistory>> loader) {
+        UserHistory existing = byUser.get(userId);
+        if (existing != null) {
+            return existing;
+        }
+        UserHistory loaded = new UserHistory(loader.get());
+        byUser.put(userId, loaded);
+        knownUsers.add(userId);
+        return loaded;
+    }
+
+    // 채워지지 않은 유저는 건너뛴다 (첫 조회 때 테이블에서 함께 읽힌다)
+    void append(PointHistory history) {
+        if (history == null) {
+            return;
+        }
+        UserHistory userHistory = byUser.get(history.userId());
+        if (userHistory != null) {
+            userHistory.append(history);
+        } else {
+            knownUsers.add(history.userId());
+        }
+    }
+
+    long[] knownUserIds() {
+        return knownUsers.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    /**
+     * 한 유저의 내역 (id 오름차순, 단일 writer / 다중 reader)
+     * - rows 를 먼저 쓰고 size 를 나중에 쓰므로, size 를 읽은 reader 는 [0, size) 를 항상 온전히 본다.
+     * - timeOrdered : updateMillis 도 오름차순인지 여부 (시계가 뒤로 가면 false, 시간 범위 조회가 전체 탐색으로 바뀜)
+     */
+    static final class UserHistory {
+        private volatile PointHistory[] rows;
+        private volatile int size;
+        private volatile boolean timeOrdered = true;
+
+        private UserHistory(List<PointHistory> initial) {
+            this.rows = initial.toArray(new PointHistory[Math.max(8, initial.size())]);
+            this.size = initial.size();
+            for (int i = 1; i < initial.size(); i++) {
+                if (initial.get(i).updateMillis() < initial.get(i - 1).updateMillis()) {
+                    this.timeOrdered = false;
+                    break;
+                }
+            }
+        }
+
+        private void append(PointHistory history) {
+            int n = size;
+            PointHistory[] current = rows;
+            if (n == current.length) {
+                current = Arrays.copyOf(current, n * 2);
+                rows = current;
+            }
+            if (n > 0 && history.updateMillis() < current[n - 1].updateMillis()) {
+                timeOrdered = false;
+            }
+            current[n] = history;
+            size = n + 1;
+        }
+
+        /**
+         * 조건에 맞는 내역을 limit 건까지만 모은다 (전체 목록을 만들지 않음)
+         * - 시작 위치는 커서(id)와, 시간순일 때는 fromMillis 로 이분 탐색
+         */
+        PointHistoryPage page(PointHistoryQuery query) {
+            int n = size;
+            PointHistory[] snapshot = rows;
+            boolean ordered = timeOrdered;
+
+            int start = firstIdAfter(snapshot, n, query.afterId());
+            if (ordered) {
+                start = Math.max(start, firstAtOrAfter(snapshot, n, query.fromMillis()));
+            }
+
+            List<PointHistory> items = new ArrayList<>(Math.min(query.limit(), Math.max(0, n - start)));
+            int i = start;
+            for (; i < n && items.size() < query.limit(); i++) {
+                PointHistory history = snapshot[i];
+                if (ordered && history.updateMillis() > query.toMillis()) {
+                    i = n;
+                    break;
+                }
+                if (query.matches(history)) {
+                    items.add(history);
+                }
+            }
+            Long nextCursor = (i < n && !items.isEmpty()) ? items.get(items.size() - 1).id() : null;
+            return new PointHistoryPage(Collections.unmodifiableList(items), nextCursor);
+        }
+
+        private static int firstIdAfter(PointHistory[] rows, int n, long afterId) {
+            int lo = 0, hi = n;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (rows[mid].id() <= afterId) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        private static int firstAtOrAfter(PointHistory[] rows, int n, long fromMillis) {
+            int lo = 0, hi = n;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (rows[mid].updateMillis() < fromMillis) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        List<PointHistory> snapshot() {
+            int n = size;
+            if (n == 0) {
+                return Collections.emptyList();
+            }
+            return List.of(Arrays.copyOf(rows, n));
+        }
+    }
+}
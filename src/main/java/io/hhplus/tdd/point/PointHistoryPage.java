@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 포인트 내역 한 페이지
+ * - nextCursor : 다음 페이지 요청 시 cursor 로 넘길 값, 더 없으면 null
+ */
+public record PointHistoryPage(
+        List<PointHistory> items,
+        Long nextCursor
+) {
+}
@@ -0,0 +1,46 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 내역 조회 조건
+ * - afterId : 이 id 보다 큰 내역부터 (커서, 이전 페이지의 마지막 id)
+ * - fromMillis / toMillis : updateMillis 범위 (양 끝 포함)
+ * - type : null 이면 전체
+ * - limit : 최대 건수
+ */
+public record PointHistoryQuery(
+        long afterId,
+        long fromMillis,
+        long toMillis,
+        TransactionType type,
+        int limit
+) {
+
+    public PointHistoryQuery {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit 은 0보다 큰 정수여야 합니다.");
+        }
+        if (fromMillis > toMillis) {
+            throw new IllegalArgumentException("조회 시작 시각이 종료 시각보다 늦습니다.");
+        }
+    }
+
+    public static PointHistoryQuery of(Long cursor, Long from, Long to, TransactionType type, Integer limit) {
+        return new PointHistoryQuery(
+                cursor == null ? 0L : cursor,
+                from == null ? Long.MIN_VALUE : from,
+                to == null ? Long.MAX_VALUE : to,
+                type,
+                limit == null ? Integer.MAX_VALUE : limit
+        );
+    }
+
+    boolean matches(PointHistory history) {
+        return matches(history.updateMillis(), history.type());
+    }
+
+    boolean matches(long updateMillis, TransactionType type) {
+        return updateMillis >= fromMillis
+                && updateMillis <= toMillis
+                && (this.type == null || this.type == type);
+    }
+}
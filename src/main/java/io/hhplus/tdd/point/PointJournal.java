@@ -0,0 +1,582 @@
+package io.hhplus.tdd.point;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 충전/사용 기록 저널 (append-only, 메모리 매핑 세그먼트)
+ * - 커밋된 충전/사용 한 건을 고정 길이(RECORD_BYTES) 레코드로 남긴다 : seq, userId, amount, updateMillis, type, 묶음 표시, crc
+ * - 이체는 출금/입금 두 레코드를 한 세그먼트 안에 연달아 쓰고, 첫 레코드에 묶음 표시를 한다.
+ *   읽을 때 묶음의 두 레코드가 모두 온전해야 둘 다 유효하므로, 중간에 끊긴 이체가 한쪽만 replay 되지 않는다.
+ * - 세그먼트 파일은 크기가 고정이며, 가득 차면 디스크에 내린 뒤 다음 세그먼트로 넘어간다 (파일 이름 = 첫 seq).
+ * - 앞 세그먼트가 중간에서 끊긴 경우, 그 뒤 세그먼트는 이어지지 않는 기록이므로 .stale 로 이름을 바꿔 둔다.
+ * - 내구성(point.journal.durability)
+ *   GROUP_COMMIT : 기록한 스레드는 flusher 스레드의 force 를 기다리고, force 한 번이 그 사이 쌓인 모든 기록을 함께 내린다.
+ *   FSYNC_PER_BATCH : 기록한 스레드가 자신이 쓴 범위(단건 또는 배치)를 직접 force 한다.
+ * - 열 때 세그먼트를 순서대로 읽어 seq 가 이어지고 crc 가 맞는 레코드까지를 유효한 기록으로 보고, 그 다음 위치부터 이어 쓴다.
+ *   스냅샷이 반영한 seq 이하로만 이루어진 세그먼트는 읽지 않는다.
+ * - durableSequence 는 그 seq 까지의 기록이 모두 디스크에 내려갔음을 뜻한다 (force 가 실패한 기록 이후로는 늘지 않는다).
+ *   lastSequence 는 force 전에 늘어나므로, 스냅샷처럼 재시작 후에도 남아 있어야 하는 범위는 durableSequence 로 정한다.
+ */
+public final class PointJournal implements AutoCloseable {
+
+    public enum Durability {
+        GROUP_COMMIT, FSYNC_PER_BATCH
+    }
+
+    record Entry(long sequence, long userId, long amount, TransactionType type, long updateMillis) {
+    }
+
+    static final int RECORD_BYTES = 40;
+    private static final int CRC_OFFSET = 36;
+    // 1 이면 다음 레코드와 함께 하나의 기록(이체)
+    private static final int CONTINUED_OFFSET = 33;
+    private static final String SUFFIX = ".journal";
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final Durability durability;
+
+    // 기록 위치/seq 보호 (레코드 복사만 하고 force 는 밖에서 한다)
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final byte[] scratch = new byte[RECORD_BYTES];
+    private final CRC32C crc = new CRC32C();
+    private MappedByteBuffer segment;
+    // 세그먼트 첫 seq → 파일 (체크포인트가 범위를 읽을 때 사용)
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private int position;
+    private int forcedPosition;
+    private long lastSequence;
+
+    // GROUP_COMMIT : 디스크에 내려간 seq 와 요청된 seq
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushRequested = flushLock.newCondition();
+    private final Condition flushed = flushLock.newCondition();
+    private long requestedSequence;
+    private long durableSequence;
+    private boolean running = true;
+    private final Thread flusher;
+
+    // FSYNC_PER_BATCH : 기록했지만 force 가 아직 끝나지 않은 범위의 첫 seq (force 가 실패한 범위는 남겨 둔다)
+    private final ConcurrentSkipListSet<Long> unforced = new ConcurrentSkipListSet<>();
+
+    // force 가 한 번 실패하면 이후 기록은 모두 거절한다 (디스크에 남았는지 알 수 없는 기록 뒤에 이어 쓰지 않도록)
+    private volatile RuntimeException failure;
+
+    private PointJournal(Path directory, int segmentBytes, Durability durability) {
+        this.directory = directory;
+        // 이체 두 레코드가 한 세그먼트에 들어가도록 최소 두 레코드
+        this.segmentBytes = Math.max(2, segmentBytes / RECORD_BYTES) * RECORD_BYTES;
+        this.durability = durability;
+        if (durability == Durability.GROUP_COMMIT) {
+            this.flusher = new Thread(this::flushLoop, "point-journal-flusher");
+            this.flusher.setDaemon(true);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    /**
+     * 저널을 열고, 남아 있는 유효한 기록 중 seq 가 replayAfter 보다 큰 것을 순서대로 replay 에 넘긴 뒤 이어 쓸 준비를 한다.
+     * (스냅샷이 없으면 replayAfter = 0 으로 모든 기록을 넘긴다)
+     */
+    static PointJournal open(Path directory, int segmentBytes, Durability durability,
+                             long replayAfter, Consumer<Entry> replay) {
+        PointJournal journal = new PointJournal(directory, segmentBytes, durability);
+        try {
+            Files.createDirectories(directory);
+            journal.recover(replayAfter, replay);
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널을 열 수 없습니다: " + directory, e);
+        }
+        // 남아 있던 기록이 아직 페이지 캐시에만 있을 수 있으므로 내린 뒤부터 durable 로 본다
+        journal.segment.force();
+        journal.durableSequence = journal.lastSequence;
+        journal.requestedSequence = journal.lastSequence;
+        if (journal.flusher != null) {
+            journal.flusher.start();
+        }
+        return journal;
+    }
+
+    // replay 없이 연다 (남은 기록은 lastSequence 까지 read 로 읽는다)
+    static PointJournal open(Path directory, int segmentBytes, Durability durability) {
+        return open(directory, segmentBytes, durability, Long.MAX_VALUE, entry -> {
+        });
+    }
+
+    long lastSequence() {
+        writeLock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 이 seq 까지의 기록은 모두 디스크에 내려가 있다 (lastSequence 이하)
+    long durableSequence() {
+        if (durability == Durability.FSYNC_PER_BATCH) {
+            writeLock.lock();
+            try {
+                Long oldest = unforced.ceiling(Long.MIN_VALUE);
+                return oldest == null ? lastSequence : oldest - 1;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        flushLock.lock();
+        try {
+            return durableSequence;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * (after, upTo] 범위의 기록을 seq 순서대로 읽는다 (체크포인트용, 기록 중에도 호출 가능)
+     * - upTo 는 lastSequence() 이하여야 한다. 기록은 writeLock 안에서 끝난 뒤 lastSequence 에 반영되므로 모두 온전하다.
+     */
+    void read(long after, long upTo, Consumer<Entry> consumer) {
+        if (upTo <= after) {
+            return;
+        }
+        TreeMap<Long, Path> targets;
+        writeLock.lock();
+        try {
+            Long from = segments.floorKey(after + 1);
+            targets = new TreeMap<>(segments.tailMap(from == null ? segments.firstKey() : from, true));
+        } finally {
+            writeLock.unlock();
+        }
+        for (Map.Entry<Long, Path> target : targets.entrySet()) {
+            long first = target.getKey();
+            if (first > upTo) {
+                break;
+            }
+            try (FileChannel channel = FileChannel.open(target.getValue(), StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                scan(buffer, buffer.capacity(), first, after, upTo, consumer);
+            } catch (IOException e) {
+                throw new UncheckedIOException("저널 세그먼트를 읽을 수 없습니다: " + target.getValue(), e);
+            }
+        }
+    }
+
+    // 한 건 기록 (반환 시 durability 모드에 맞게 디스크에 내려가 있다)
+    void append(long userId, long amount, TransactionType type, long updateMillis) {
+        MappedByteBuffer written;
+        int from;
+        int to;
+        long sequence;
+        ensureWritable();
+        writeLock.lock();
+        try {
+            if (position + RECORD_BYTES > segment.capacity()) {
+                roll();
+            }
+            written = segment;
+            from = position;
+            sequence = write(userId, amount, type, updateMillis, false);
+            to = position;
+            trackUnforced(sequence);
+        } finally {
+            writeLock.unlock();
+        }
+        commit(written, from, to, sequence, sequence);
+    }
+
+    // 이체 한 건 (fromId 출금 + toId 입금) 을 묶어 기록한다, 둘 다 남거나 둘 다 남지 않는다
+    void appendTransfer(long fromId, long toId, long amount, long updateMillis) {
+        MappedByteBuffer written;
+        int from;
+        int to;
+        long first;
+        long sequence;
+        ensureWritable();
+        writeLock.lock();
+        try {
+            if (position + 2 * RECORD_BYTES > segment.capacity()) {
+                roll();
+            }
+            written = segment;
+            from = position;
+            first = write(fromId, amount, TransactionType.USE, updateMillis, true);
+            sequence = write(toId, amount, TransactionType.CHARGE, updateMillis, false);
+            to = position;
+            trackUnforced(first);
+        } finally {
+            writeLock.unlock();
+        }
+        commit(written, from, to, first, sequence);
+    }
+
+    // 한 유저의 배치를 연속된 레코드로 기록하고 한 번에 내린다
+    void appendAll(long userId, List<PendingMutation> mutations, long updateMillis) {
+        MappedByteBuffer written;
+        int from;
+        int to;
+        long first = 0;
+        long sequence = 0;
+        ensureWritable();
+        writeLock.lock();
+        try {
+            if (position + RECORD_BYTES > segment.capacity()) {
+                roll();
+            }
+            written = segment;
+            from = position;
+            first = lastSequence + 1;
+            for (PendingMutation mutation : mutations) {
+                if (position + RECORD_BYTES > segment.capacity()) {
+                    // 이전 세그먼트는 교체 시 모두 내려가므로, 새 세그먼트의 처음부터만 내리면 된다
+                    roll();
+                    written = segment;
+                    from = 0;
+                }
+                sequence = write(userId, mutation.amount, mutation.type, updateMillis, false);
+            }
+            to = position;
+            if (sequence >= first) {
+                trackUnforced(first);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        if (sequence >= first) {
+            commit(written, from, to, first, sequence);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (flusher != null) {
+            flushLock.lock();
+            try {
+                running = false;
+                flushRequested.signalAll();
+            } finally {
+                flushLock.unlock();
+            }
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        writeLock.lock();
+        try {
+            if (segment != null) {
+                segment.force();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // writeLock 보유 상태에서 호출 (현재 세그먼트에 한 레코드 이상 남아 있어야 한다)
+    private long write(long userId, long amount, TransactionType type, long updateMillis, boolean continued) {
+        long sequence = lastSequence + 1;
+        putLong(scratch, 0, sequence);
+        putLong(scratch, 8, userId);
+        putLong(scratch, 16, amount);
+        putLong(scratch, 24, updateMillis);
+        scratch[32] = (byte) type.ordinal();
+        scratch[CONTINUED_OFFSET] = (byte) (continued ? 1 : 0);
+        crc.reset();
+        crc.update(scratch, 0, CRC_OFFSET);
+        putInt(scratch, CRC_OFFSET, (int) crc.getValue());
+        segment.put(position, scratch);
+        position += RECORD_BYTES;
+        lastSequence = sequence;
+        return sequence;
+    }
+
+    // writeLock 보유 상태에서 호출: FSYNC_PER_BATCH 면 방금 쓴 범위를 force 가 끝날 때까지 durable 에서 뺀다
+    private void trackUnforced(long firstSequence) {
+        if (durability == Durability.FSYNC_PER_BATCH) {
+            unforced.add(firstSequence);
+        }
+    }
+
+    // [firstSequence, sequence] 를 기록한 범위가 디스크에 내려갈 때까지 기다린다
+    private void commit(MappedByteBuffer written, int from, int to, long firstSequence, long sequence) {
+        if (durability == Durability.FSYNC_PER_BATCH) {
+            try {
+                if (to > from) {
+                    written.force(from, to - from);
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+                throw e;
+            }
+            unforced.remove(firstSequence);
+            return;
+        }
+        awaitDurable(sequence);
+    }
+
+    private void ensureWritable() {
+        RuntimeException error = failure;
+        if (error != null) {
+            throw new UncheckedIOException(new IOException("저널 기록에 실패해 더 이상 기록할 수 없습니다.", error));
+        }
+    }
+
+    private void awaitDurable(long sequence) {
+        flushLock.lock();
+        try {
+            if (sequence > requestedSequence) {
+                requestedSequence = sequence;
+                flushRequested.signal();
+            }
+            while (durableSequence < sequence) {
+                ensureWritable();
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            flushLock.lock();
+            try {
+                while (running && requestedSequence <= durableSequence) {
+                    flushRequested.awaitUninterruptibly();
+                }
+                if (!running && requestedSequence <= durableSequence) {
+                    return;
+                }
+            } finally {
+                flushLock.unlock();
+            }
+
+            MappedByteBuffer target;
+            int from;
+            int to;
+            long sequence;
+            writeLock.lock();
+            try {
+                target = segment;
+                from = forcedPosition;
+                to = position;
+                sequence = lastSequence;
+                forcedPosition = position;
+            } finally {
+                writeLock.unlock();
+            }
+            try {
+                if (to > from) {
+                    target.force(from, to - from);
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+
+            flushLock.lock();
+            try {
+                if (failure == null) {
+                    durableSequence = Math.max(durableSequence, sequence);
+                }
+                flushed.signalAll();
+                if (failure != null) {
+                    return;
+                }
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    // writeLock 보유 상태에서 호출: 현재 세그먼트를 모두 내리고 다음 세그먼트를 만든다
+    private void roll() {
+        if (segment != null) {
+            segment.force();
+        }
+        Path file = directory.resolve(fileName(lastSequence + 1));
+        segment = map(file, true);
+        segments.put(lastSequence + 1, file);
+        position = 0;
+        forcedPosition = 0;
+    }
+
+    private void recover(long replayAfter, Consumer<Entry> replay) throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+
+        List<Path> stale = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            long first = firstSequenceOf(file);
+            if (segment != null && first != lastSequence + 1) {
+                // 앞 세그먼트가 중간에서 끊겼으면 그 뒤 세그먼트는 이어지지 않는 기록이다
+                stale.add(file);
+                continue;
+            }
+            segments.put(first, file);
+            long nextFirst = i + 1 < files.size() ? firstSequenceOf(files.get(i + 1)) : Long.MAX_VALUE;
+            if (nextFirst != Long.MAX_VALUE && nextFirst - 1 <= replayAfter && nextFirst > first) {
+                // 모두 replay 대상 이전 기록이고 교체 시 끝까지 내려간 세그먼트라면 읽지 않고 건너뛴다
+                lastSequence = nextFirst - 1;
+                continue;
+            }
+            MappedByteBuffer buffer = map(file, false);
+            int limit = (int) Math.min(buffer.capacity(), Files.size(file));
+            lastSequence = scan(buffer, limit, first, replayAfter, Long.MAX_VALUE, replay);
+            segment = buffer;
+            position = (int) (lastSequence - first + 1) * RECORD_BYTES;
+            forcedPosition = position;
+        }
+        // 이어 쓸 seq 와 파일 이름이 겹치지 않도록 옆으로 치워 둔다 (조사용)
+        for (Path file : stale) {
+            Files.move(file, file.resolveSibling(file.getFileName() + ".stale"), StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (segment == null) {
+            roll();
+            return;
+        }
+        // 끊긴 지점 뒤에 남은 이전 기록이 새 기록과 seq 가 이어져 다시 읽히지 않도록 비운다
+        // (끝까지 읽기만 하고, 실제로 쓰는 범위는 마지막으로 남은 기록까지)
+        int end = position;
+        for (int offset = position; offset + RECORD_BYTES <= segment.capacity(); offset += RECORD_BYTES) {
+            if (segment.getLong(offset) != 0) {
+                end = offset + RECORD_BYTES;
+            }
+        }
+        if (end > position) {
+            byte[] zeros = new byte[RECORD_BYTES];
+            for (int offset = position; offset < end; offset += RECORD_BYTES) {
+                segment.put(offset, zeros);
+            }
+            segment.force();
+        }
+    }
+
+    /**
+     * buffer 의 [0, limit) 에서 first 부터 seq 가 이어지고 crc 가 맞는 레코드를 차례로 읽어 (after, upTo] 범위만 넘긴다.
+     * 묶음 표시가 있는 레코드는 다음 레코드까지 온전할 때만 둘을 함께 읽는다.
+     * 반환값은 마지막으로 읽은 유효한 seq (하나도 없으면 first - 1)
+     */
+    private static long scan(ByteBuffer buffer, int limit, long first, long after, long upTo, Consumer<Entry> consumer) {
+        byte[] record = new byte[RECORD_BYTES];
+        byte[] paired = new byte[RECORD_BYTES];
+        CRC32C checksum = new CRC32C();
+        long last = first - 1;
+        for (int offset = 0; offset + RECORD_BYTES <= limit && last < upTo; offset += RECORD_BYTES) {
+            buffer.get(offset, record);
+            if (!valid(record, last + 1, checksum)) {
+                break;
+            }
+            if (record[CONTINUED_OFFSET] == 1) {
+                if (offset + 2 * RECORD_BYTES > limit) {
+                    break;
+                }
+                buffer.get(offset + RECORD_BYTES, paired);
+                if (!valid(paired, last + 2, checksum)) {
+                    break;
+                }
+                accept(record, after, upTo, consumer);
+                accept(paired, after, upTo, consumer);
+                last += 2;
+                offset += RECORD_BYTES;
+                continue;
+            }
+            accept(record, after, upTo, consumer);
+            last++;
+        }
+        return last;
+    }
+
+    private static boolean valid(byte[] record, long expectedSequence, CRC32C checksum) {
+        if (getLong(record, 0) != expectedSequence) {
+            return false;
+        }
+        checksum.reset();
+        checksum.update(record, 0, CRC_OFFSET);
+        int type = record[32];
+        return getInt(record, CRC_OFFSET) == (int) checksum.getValue() && type >= 0 && type < TYPES.length;
+    }
+
+    private static void accept(byte[] record, long after, long upTo, Consumer<Entry> consumer) {
+        long sequence = getLong(record, 0);
+        if (sequence > after && sequence <= upTo) {
+            consumer.accept(new Entry(sequence, getLong(record, 8), getLong(record, 16), TYPES[record[32]], getLong(record, 24)));
+        }
+    }
+
+    private static long firstSequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    private MappedByteBuffer map(Path file, boolean create) {
+        StandardOpenOption[] options = create
+                ? new StandardOpenOption[]{StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            long size = create ? segmentBytes : Math.max(channel.size(), RECORD_BYTES);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            return buffer;
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널 세그먼트를 열 수 없습니다: " + file, e);
+        }
+    }
+
+    private static String fileName(long firstSequence) {
+        return String.format("%020d%s", firstSequence, SUFFIX);
+    }
+
+    private static void putLong(byte[] bytes, int offset, long value) {
+        for (int i = 7; i >= 0; i--) {
+            bytes[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    private static void putInt(byte[] bytes, int offset, int value) {
+        for (int i = 3; i >= 0; i--) {
+            bytes[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    private static long getLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static int getInt(byte[] bytes, int offset) {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,47 @@
+package io.hhplus.tdd.point;
+
+/**
+ * PointService 계측 지점 (락 대기, 테이블 호출, 충전/사용/조회/요약 전체 시간, 결과별 건수, 예외 종류별 건수)
+ * - 모든 기록 메서드는 enum 과 nanos 만 받으므로, 구현체가 미리 만들어 둔 미터를 쓰면 요청마다 할당이 생기지 않는다.
+ * - 기본값 NOOP 은 아무것도 기록하지 않는다 (Spring 밖에서 직접 생성하는 경우, 테스트 등).
+ */
+public interface PointMetrics {
+
+    enum Operation {
+        CHARGE, USE, GET, GET_ALL, HISTORIES, SUMMARY, TRANSFER
+    }
+
+    enum Call {
+        SELECT_POINT, UPDATE_POINT, INSERT_HISTORY, SELECT_HISTORIES
+    }
+
+    enum Outcome {
+        SUCCESS, INVALID_REQUEST, OVERFLOW, INSUFFICIENT_BALANCE, ERROR
+    }
+
+    PointMetrics NOOP = new PointMetrics() {
+    };
+
+    default void recordLockWait(long nanos) {
+    }
+
+    default void recordCall(Call call, long nanos) {
+    }
+
+    default void recordOperation(Operation operation, Outcome outcome, long nanos) {
+    }
+
+    // GlobalPointExceptionHandler 가 응답으로 변환한 예외 (status 는 응답 상태 코드)
+    default void recordError(Throwable error, int status) {
+    }
+
+    static Outcome outcomeOf(Throwable error) {
+        if (error instanceof IllegalArgumentException) {
+            return PointRules.OVERFLOW_MESSAGE.equals(error.getMessage()) ? Outcome.OVERFLOW : Outcome.INVALID_REQUEST;
+        }
+        if (error instanceof IllegalStateException) {
+            return Outcome.INSUFFICIENT_BALANCE;
+        }
+        return Outcome.ERROR;
+    }
+}
@@ -0,0 +1,87 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.function.LongFunction;
+
+/**
+ * 유저별 충전/사용 요청 배치 처리기
+ * - 요청은 유저별 큐에 쌓인 뒤 유저 락을 기다린다.
+ * - 락을 먼저 잡은 요청이 큐에 쌓인 요청을 모두 꺼내 한 번에 반영한다 (잔액 조회/갱신 1회).
+ * - 락을 늦게 잡은 요청은 이미 결과가 채워져 있으면 바로 반환한다.
+ */
+class PointMutationBatcher {
+
+    /**
+     * 락을 잡은 상태에서 호출되며, 모든 요청의 result 를 완료시켜야 한다.
+     */
+    interface BatchApplier {
+        void apply(long userId, List<PendingMutation> batch);
+    }
+
+    private final ConcurrentHashMap<Long, ConcurrentLinkedQueue<PendingMutation>> queues = new ConcurrentHashMap<>();
+    // 유저 락을 잡은 상태로 돌려준다
+    private final LongFunction<Lock> acquire;
+    private final BatchApplier applier;
+    private final int maxBatchSize;
+
+    PointMutationBatcher(LongFunction<Lock> acquire, BatchApplier applier, int maxBatchSize) {
+        this.acquire = acquire;
+        this.applier = applier;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    UserPoint submit(long userId, TransactionType type, long amount) {
+        PendingMutation mutation = new PendingMutation(type, amount);
+        ConcurrentLinkedQueue<PendingMutation> queue =
+                queues.computeIfAbsent(userId, id -> new ConcurrentLinkedQueue<>());
+        queue.offer(mutation);
+
+        Lock lock = acquire.apply(userId);
+        try {
+            // 앞선 요청이 내 요청까지 처리했다면 그대로 반환
+            while (!mutation.result.isDone()) {
+                drainOnce(userId, queue);
+            }
+            // 비어 있는 큐는 정리 (정리 직후 들어온 요청은 자신이 잡은 큐를 직접 비운다)
+            if (queue.isEmpty()) {
+                queues.remove(userId, queue);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return join(mutation);
+    }
+
+    private void drainOnce(long userId, ConcurrentLinkedQueue<PendingMutation> queue) {
+        List<PendingMutation> batch = new ArrayList<>(Math.min(maxBatchSize, 16));
+        PendingMutation next;
+        while (batch.size() < maxBatchSize && (next = queue.poll()) != null) {
+            batch.add(next);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            applier.apply(userId, batch);
+        } catch (RuntimeException e) {
+            // 저장 계층 예외 등 예상치 못한 실패는 남은 요청 모두에 전달
+            batch.forEach(m -> m.result.completeExceptionally(e));
+        }
+    }
+
+    private static UserPoint join(PendingMutation mutation) {
+        try {
+            return mutation.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.hhplus.tdd.point;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 유저 id → 소유 노드 (consistent hashing, point.cluster)
+ * - 멤버마다 virtualNodes 개의 점을 ring 에 두고, 유저 id 의 해시에서 시계 방향으로 처음 만나는 점의 멤버가 소유한다.
+ * - 멤버가 늘거나 빠져도 그 멤버 몫의 유저만 옮겨 간다.
+ * - 같은 멤버 목록이면 어느 노드에서 만들어도 같은 ring 이 된다 (멤버 순서는 무관).
+ */
+final class PointOwnerRing {
+
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+
+    PointOwnerRing(List<String> members, int virtualNodes) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("클러스터 멤버가 비어 있습니다.");
+        }
+        for (String member : members) {
+            for (int i = 0; i < Math.max(1, virtualNodes); i++) {
+                points.put(hash(member + "#" + i), member);
+            }
+        }
+    }
+
+    String ownerOf(long userId) {
+        Map.Entry<Long, String> point = points.ceilingEntry(mix(userId));
+        return (point != null ? point : points.firstEntry()).getValue();
+    }
+
+    // MD5 앞 8바이트 (멤버 주소처럼 비슷한 문자열도 ring 위에 고르게 흩어지도록)
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long hash = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                hash = (hash << 8) | (digest[i] & 0xFF);
+            }
+            return hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 연속된 유저 id 가 ring 의 한 구간에 몰리지 않도록 섞는다 (murmur3 fmix64)
+    private static long mix(long id) {
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,735 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 포인트 서비스 동작 모드 설정 (application.yml 의 point.*)
+ * - 기본값은 모두 기존 동작(유저별 공정 락, 요청 단위 처리)과 동일하다.
+ */
+@ConfigurationProperties(prefix = "point")
+public class PointProperties {
+
+    private final Lock lock = new Lock();
+    private final Batching batching = new Batching();
+    private final Cache cache = new Cache();
+    private final AsyncHistory asyncHistory = new AsyncHistory();
+    private final Bulk bulk = new Bulk();
+    private final HotUser hotUser = new HotUser();
+    private final Journal journal = new Journal();
+    private final Snapshot snapshot = new Snapshot();
+    private final Store store = new Store();
+    private final Summary summary = new Summary();
+    private final Idempotency idempotency = new Idempotency();
+    private final ReadCoalescing readCoalescing = new ReadCoalescing();
+    private final Optimistic optimistic = new Optimistic();
+    private final Reactive reactive = new Reactive();
+    private final Partitioned partitioned = new Partitioned();
+    private final Cluster cluster = new Cluster();
+    private final MultiGet multiGet = new MultiGet();
+
+    public Lock getLock() {
+        return lock;
+    }
+
+    public Batching getBatching() {
+        return batching;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public AsyncHistory getAsyncHistory() {
+        return asyncHistory;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public HotUser getHotUser() {
+        return hotUser;
+    }
+
+    public Journal getJournal() {
+        return journal;
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public Store getStore() {
+        return store;
+    }
+
+    public Summary getSummary() {
+        return summary;
+    }
+
+    public Idempotency getIdempotency() {
+        return idempotency;
+    }
+
+    public ReadCoalescing getReadCoalescing() {
+        return readCoalescing;
+    }
+
+    public Optimistic getOptimistic() {
+        return optimistic;
+    }
+
+    public Reactive getReactive() {
+        return reactive;
+    }
+
+    public Partitioned getPartitioned() {
+        return partitioned;
+    }
+
+    public Cluster getCluster() {
+        return cluster;
+    }
+
+    public MultiGet getMultiGet() {
+        return multiGet;
+    }
+
+    /**
+     * 유저 단위 직렬화 락 전략
+     * - strategy : FAIR(기존) / STRIPED / REF_COUNTED
+     * - stripes : STRIPED 일 때 락 개수, 0 이면 코어 수 × 4 (2의 거듭제곱으로 올림)
+     */
+    public static class Lock {
+        private UserLocks.Strategy strategy = UserLocks.Strategy.FAIR;
+        private int stripes = 0;
+
+        public UserLocks.Strategy getStrategy() {
+            return strategy;
+        }
+
+        public void setStrategy(UserLocks.Strategy strategy) {
+            this.strategy = strategy;
+        }
+
+        public int getStripes() {
+            return stripes;
+        }
+
+        public void setStripes(int stripes) {
+            this.stripes = stripes;
+        }
+    }
+
+    /**
+     * 유저별 충전/사용 요청 배치 처리
+     * - enabled : 락을 잡은 요청이 대기 중인 같은 유저의 요청을 모아 한 번에 반영
+     * - maxBatchSize : 한 번에 반영할 최대 요청 수
+     */
+    public static class Batching {
+        private boolean enabled = false;
+        private int maxBatchSize = 256;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+    }
+
+    /**
+     * 잔액 캐시 (read-through / write-through)
+     * - enabled : PointService 를 거치지 않고 테이블을 직접 갱신하는 코드가 없을 때만 켠다
+     * - maximumSize : 최대 보관 유저 수, 초과 시 가장 오래 안 쓰인 유저부터 제거
+     */
+    public static class Cache {
+        private boolean enabled = false;
+        private int maximumSize = 10_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
+
+    /**
+     * 내역 비동기 기록
+     * - enabled : 잔액만 락 안에서 커밋하고, 내역은 파티션별 writer 가 순서대로 기록
+     * - partitions : writer 수 (같은 유저는 항상 같은 writer), 0 이하면 CPU 코어 수 (낙관적 모드의 writer 도 같은 값을 쓴다)
+     * - queueCapacity : 파티션별 대기열 크기, 가득 차면 충전/사용이 빈자리를 기다린다
+     * - readYourWrites : 내역 조회 전에 해당 유저의 대기 중인 기록을 먼저 끝낸다
+     */
+    public static class AsyncHistory {
+        private boolean enabled = false;
+        private int partitions = 0;
+        private int queueCapacity = 1024;
+        private boolean readYourWrites = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getPartitions() {
+            return partitions;
+        }
+
+        public void setPartitions(int partitions) {
+            this.partitions = partitions;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public boolean isReadYourWrites() {
+            return readYourWrites;
+        }
+
+        public void setReadYourWrites(boolean readYourWrites) {
+            this.readYourWrites = readYourWrites;
+        }
+    }
+
+    /**
+     * 일괄 충전/사용 (POST /point/batch)
+     * - parallelism : 동시에 처리할 최대 유저 수
+     * - maxCommands : 한 요청에 담을 수 있는 최대 건수 (넘으면 400)
+     */
+    public static class Bulk {
+        private int parallelism = 32;
+        private int maxCommands = 1000;
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public int getMaxCommands() {
+            return maxCommands;
+        }
+
+        public void setMaxCommands(int maxCommands) {
+            this.maxCommands = maxCommands;
+        }
+    }
+
+    /**
+     * 경합이 몰리는 유저(hot user) 감지 후 배치 경로로 자동 전환
+     * - enabled : 감지 사용 여부 (point.batching.enabled 가 true 면 모든 유저가 이미 배치 경로)
+     * - windowMillis : 락 대기열 길이/대기 시간을 집계하는 슬라이딩 윈도 길이
+     * - queueThreshold : 윈도 안에서 한 유저의 락 대기열이 이 길이에 닿으면 hot
+     * - waitThresholdMillis : 윈도 안에서 한 유저의 락 대기 시간 합이 이 값을 넘으면 hot
+     * - maxTracked : 동시에 추적하는 최대 유저 수 (넘으면 식은 유저부터 정리)
+     * 두 지표가 모두 기준의 절반 아래로 내려가면(또는 윈도 두 개 동안 경합이 없으면) 원래 경로로 돌아간다.
+     */
+    public static class HotUser {
+        private boolean enabled = false;
+        private long windowMillis = 1_000;
+        private int queueThreshold = 4;
+        private long waitThresholdMillis = 100;
+        private int maxTracked = 10_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getWindowMillis() {
+            return windowMillis;
+        }
+
+        public void setWindowMillis(long windowMillis) {
+            this.windowMillis = windowMillis;
+        }
+
+        public int getQueueThreshold() {
+            return queueThreshold;
+        }
+
+        public void setQueueThreshold(int queueThreshold) {
+            this.queueThreshold = queueThreshold;
+        }
+
+        public long getWaitThresholdMillis() {
+            return waitThresholdMillis;
+        }
+
+        public void setWaitThresholdMillis(long waitThresholdMillis) {
+            this.waitThresholdMillis = waitThresholdMillis;
+        }
+
+        public int getMaxTracked() {
+            return maxTracked;
+        }
+
+        public void setMaxTracked(int maxTracked) {
+            this.maxTracked = maxTracked;
+        }
+    }
+
+    /**
+     * 충전/사용 저널 (재시작 시 잔액/내역 복구)
+     * - enabled : 커밋된 충전/사용을 directory 아래 세그먼트 파일에 기록하고, 시작 시 다시 읽어 테이블을 채운다
+     * - segmentBytes : 세그먼트 파일 하나의 크기 (레코드 크기의 배수로 내림)
+     * - durability : GROUP_COMMIT(여러 요청의 기록을 한 번에 디스크에 내림) / FSYNC_PER_BATCH(요청·배치마다 직접 내림)
+     */
+    public static class Journal {
+        private boolean enabled = false;
+        private String directory = "data/journal";
+        private int segmentBytes = 64 * 1024 * 1024;
+        private PointJournal.Durability durability = PointJournal.Durability.GROUP_COMMIT;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public int getSegmentBytes() {
+            return segmentBytes;
+        }
+
+        public void setSegmentBytes(int segmentBytes) {
+            this.segmentBytes = segmentBytes;
+        }
+
+        public PointJournal.Durability getDurability() {
+            return durability;
+        }
+
+        public void setDurability(PointJournal.Durability durability) {
+            this.durability = durability;
+        }
+    }
+
+    /**
+     * 잔액 스냅샷 (point.journal.enabled 일 때만 사용)
+     * - enabled : intervalMillis 마다 저널을 읽어 전체 잔액 스냅샷을 쓰고, 시작 시 최신 스냅샷 이후 기록만 replay
+     * - retained : 남겨 둘 스냅샷 수 (최신 스냅샷이 깨져 있으면 이전 것을 쓴다)
+     * 스냅샷 이전 기록은 잔액에만 반영되고, 내역 테이블에는 스냅샷 이후 기록만 다시 채워진다.
+     */
+    public static class Snapshot {
+        private boolean enabled = false;
+        private String directory = "data/snapshot";
+        private long intervalMillis = 60_000;
+        private int retained = 2;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public long getIntervalMillis() {
+            return intervalMillis;
+        }
+
+        public void setIntervalMillis(long intervalMillis) {
+            this.intervalMillis = intervalMillis;
+        }
+
+        public int getRetained() {
+            return retained;
+        }
+
+        public void setRetained(int retained) {
+            this.retained = retained;
+        }
+    }
+
+    /**
+     * 잔액/내역 저장소
+     * - balance : TABLE(UserPointTable, 기존) / OFF_HEAP(힙 밖 open addressing 배열, UserPointTable 은 쓰지 않는다)
+     * - initialCapacity : OFF_HEAP 일 때 처음 잡아 둘 유저 수 (넘치면 세그먼트별로 두 배씩 늘린다)
+     * - history : TABLE(PointHistoryTable + 유저별 인덱스, 기존) / COLUMNAR(유저별 컬럼 압축 묶음, PointHistoryTable 은 쓰지 않는다)
+     */
+    public static class Store {
+        private UserPointStore.Type balance = UserPointStore.Type.TABLE;
+        private int initialCapacity = 65_536;
+        private HistoryType history = HistoryType.TABLE;
+
+        public enum HistoryType {
+            TABLE, COLUMNAR
+        }
+
+        public UserPointStore.Type getBalance() {
+            return balance;
+        }
+
+        public void setBalance(UserPointStore.Type balance) {
+            this.balance = balance;
+        }
+
+        public int getInitialCapacity() {
+            return initialCapacity;
+        }
+
+        public void setInitialCapacity(int initialCapacity) {
+            this.initialCapacity = initialCapacity;
+        }
+
+        public HistoryType getHistory() {
+            return history;
+        }
+
+        public void setHistory(HistoryType history) {
+            this.history = history;
+        }
+    }
+
+    /**
+     * 충전/사용 요약 (GET /point/{id}/summary)
+     * - enabled : 커밋 때마다 유저별 시간 단위 집계를 갱신해 두고 요약을 집계에서 바로 만든다 (끄면 조회 때마다 전체 내역을 합산)
+     * - zone : 일 단위 칸을 나누는 기준 시간대
+     */
+    public static class Summary {
+        private boolean enabled = false;
+        private String zone = "Asia/Seoul";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getZone() {
+            return zone;
+        }
+
+        public void setZone(String zone) {
+            this.zone = zone;
+        }
+    }
+
+    /**
+     * 충전/사용 Idempotency-Key 처리 (헤더가 없는 요청은 그대로 실행)
+     * - enabled : 키별 결과를 ttlMillis 동안 기억해, 같은 키의 재시도에는 다시 실행하지 않고 같은 결과를 돌려준다
+     * - maximumSize : 기억할 키 수 상한 (넘치면 오래된 것부터 지운다)
+     */
+    public static class Idempotency {
+        private boolean enabled = true;
+        private long ttlMillis = 600_000;
+        private int maximumSize = 100_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getTtlMillis() {
+            return ttlMillis;
+        }
+
+        public void setTtlMillis(long ttlMillis) {
+            this.ttlMillis = ttlMillis;
+        }
+
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
+
+    /**
+     * 같은 유저의 동시 잔액 조회 합치기
+     * - enabled : 진행 중인 테이블 조회가 있으면 새로 읽지 않고 그 결과를 함께 받는다 (캐시 사용 시에는 미스만 해당)
+     */
+    public static class ReadCoalescing {
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * 낙관적 동시성 모드 (유저 락 대신 버전 compare-and-set)
+     * - enabled : 충전/사용을 서비스 쪽 버전 잔액에 CAS 로 커밋하고, 테이블/내역 기록은 유저별 writer(내역 파이프라인)가 이어서 한다
+     *   writer 수는 point.async-history.partitions 를 따른다 (0 이하면 CPU 코어 수)
+     *   켜면 배치/hot user 경로와 잔액 캐시는 쓰지 않는다
+     * - maxAttempts : 충돌 시 최대 시도 횟수, 넘으면 409
+     * - initialBackoffNanos / maxBackoffNanos : 충돌 후 기다리는 시간의 시작값과 상한 (두 배씩 늘린다)
+     */
+    public static class Optimistic {
+        private boolean enabled = false;
+        private int maxAttempts = 64;
+        private long initialBackoffNanos = 1_000;
+        private long maxBackoffNanos = 1_000_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getInitialBackoffNanos() {
+            return initialBackoffNanos;
+        }
+
+        public void setInitialBackoffNanos(long initialBackoffNanos) {
+            this.initialBackoffNanos = initialBackoffNanos;
+        }
+
+        public long getMaxBackoffNanos() {
+            return maxBackoffNanos;
+        }
+
+        public void setMaxBackoffNanos(long maxBackoffNanos) {
+            this.maxBackoffNanos = maxBackoffNanos;
+        }
+    }
+
+    /**
+     * 논블로킹(Mono/Flux) API
+     * - enabled : /point 경로를 PointController 대신 ReactivePointController 가 처리한다
+     * - blockingThreads : PointService(테이블 호출)를 실행하는 스레드 상한
+     * - queuedTasks : 스레드를 기다리는 작업 상한, 넘으면 409
+     */
+    public static class Reactive {
+        private boolean enabled = false;
+        private int blockingThreads = 32;
+        private int queuedTasks = 100_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getBlockingThreads() {
+            return blockingThreads;
+        }
+
+        public void setBlockingThreads(int blockingThreads) {
+            this.blockingThreads = blockingThreads;
+        }
+
+        public int getQueuedTasks() {
+            return queuedTasks;
+        }
+
+        public void setQueuedTasks(int queuedTasks) {
+            this.queuedTasks = queuedTasks;
+        }
+    }
+
+    /**
+     * 유저 파티션별 단일 writer 모드 (유저 락 대신 파티션 worker 가 충전/사용을 직렬화)
+     * - enabled : 충전/사용/일괄 처리를 유저의 파티션 worker 에 명령으로 넘기고 future 로 결과를 받는다
+     *   켜면 배치/hot user 경로는 쓰지 않는다 (낙관적 모드가 켜져 있으면 낙관적 모드가 우선)
+     * - partitions : 파티션(worker 스레드) 수, 0 이하면 CPU 코어 수
+     * - queueCapacity : 파티션별 대기 명령 상한, 가득 차면 호출 스레드가 기다린다
+     */
+    public static class Partitioned {
+        private boolean enabled = false;
+        private int partitions = 0;
+        private int queueCapacity = 10_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getPartitions() {
+            return partitions;
+        }
+
+        public void setPartitions(int partitions) {
+            this.partitions = partitions;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    /**
+     * 클러스터 모드 (유저별 소유 노드 + 요청 전달)
+     * - enabled : /point/{id}/** 요청을 consistent-hash ring 의 소유 노드로 넘긴다
+     * - self : 이 노드의 주소 (members 중 하나, 예: http://10.0.0.1:8080)
+     * - members : 모든 노드의 주소, 모든 노드가 같은 목록을 써야 한다
+     * - secret : 노드끼리 넘긴 요청임을 확인하는 공유 비밀값 (필수, 모든 노드가 같은 값)
+     * - virtualNodes : 멤버당 ring 위의 점 수 (많을수록 유저가 고르게 나뉜다)
+     * - connectTimeoutMillis / forwardTimeoutMillis : 소유 노드 연결/응답 대기 시간, 넘으면 503
+     */
+    public static class Cluster {
+        private boolean enabled = false;
+        private String self = "";
+        private List<String> members = new ArrayList<>();
+        private String secret = "";
+        private int virtualNodes = 128;
+        private long connectTimeoutMillis = 1_000;
+        private long forwardTimeoutMillis = 10_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getSelf() {
+            return self;
+        }
+
+        public void setSelf(String self) {
+            this.self = self;
+        }
+
+        public List<String> getMembers() {
+            return members;
+        }
+
+        public void setMembers(List<String> members) {
+            this.members = members;
+        }
+
+        public String getSecret() {
+            return secret;
+        }
+
+        public void setSecret(String secret) {
+            this.secret = secret;
+        }
+
+        public int getVirtualNodes() {
+            return virtualNodes;
+        }
+
+        public void setVirtualNodes(int virtualNodes) {
+            this.virtualNodes = virtualNodes;
+        }
+
+        public long getConnectTimeoutMillis() {
+            return connectTimeoutMillis;
+        }
+
+        public void setConnectTimeoutMillis(long connectTimeoutMillis) {
+            this.connectTimeoutMillis = connectTimeoutMillis;
+        }
+
+        public long getForwardTimeoutMillis() {
+            return forwardTimeoutMillis;
+        }
+
+        public void setForwardTimeoutMillis(long forwardTimeoutMillis) {
+            this.forwardTimeoutMillis = forwardTimeoutMillis;
+        }
+    }
+
+    /**
+     * 여러 유저 잔액 한 번에 조회 (GET /point?ids=...)
+     * - parallelism : 캐시에 없는 유저의 테이블 조회를 동시에 실행할 최대 수 (모든 요청이 함께 쓰는 풀)
+     * - maxIds : 한 요청에 담을 수 있는 최대 id 수 (넘으면 400)
+     */
+    public static class MultiGet {
+        private int parallelism = 128;
+        private int maxIds = 500;
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public int getMaxIds() {
+            return maxIds;
+        }
+
+        public void setMaxIds(int maxIds) {
+            this.maxIds = maxIds;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package io.hhplus.tdd.point;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 유저별 시간 단위 충전/사용 집계 (요약 조회용)
+ * - 충전/사용이 커밋될 때마다 그 시각이 속한 시간 칸에 더해 둔다. 일 단위는 시간 칸을 zone 기준 날짜로 묶어 만든다.
+ * - 조회 비용은 구간 안의 시간 칸 수에만 비례하고 내역 길이와는 무관하다.
+ * - 쓰기는 유저 락 보유 스레드만 하고, 조회는 락 없이 가능하다.
+ * - 서비스가 시작된 뒤 커밋(또는 저널 replay)된 기록만 담는다.
+ */
+class PointRollups {
+
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    private final ZoneId zone;
+    private final ConcurrentHashMap<Long, NavigableMap<Long, PointSummary.Bucket>> byUser = new ConcurrentHashMap<>();
+
+    PointRollups(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    // 저장해 둔 집계가 없는 경우(비활성화)에 쓰는 일회성 집계
+    static PointSummary summarize(long userId, List<PointHistory> histories, PointSummary.Granularity granularity,
+                                  Long from, Long to, ZoneId zone) {
+        PointRollups rollups = new PointRollups(zone);
+        for (PointHistory history : histories) {
+            rollups.record(userId, history.amount(), history.type(), history.updateMillis());
+        }
+        return rollups.summarize(userId, granularity, from, to);
+    }
+
+    void record(long userId, long amount, TransactionType type, long updateMillis) {
+        long hour = Math.floorDiv(updateMillis, HOUR_MILLIS) * HOUR_MILLIS;
+        NavigableMap<Long, PointSummary.Bucket> hours = byUser.get(userId);
+        if (hours == null) {
+            hours = byUser.computeIfAbsent(userId, id -> new ConcurrentSkipListMap<>());
+        }
+        hours.merge(hour, PointSummary.Bucket.of(hour, type, amount), PointSummary.Bucket::plus);
+    }
+
+    /**
+     * [from, to) 구간의 요약, from/to 가 없으면 처음/끝까지 (구간은 단위 경계로 넓힌다)
+     * 구간에 기록이 하나도 없으면 빈 요약을 돌려준다.
+     */
+    PointSummary summarize(long userId, PointSummary.Granularity granularity, Long from, Long to) {
+        if (from != null && to != null && from > to) {
+            throw new IllegalArgumentException("조회 시작 시각이 종료 시각보다 늦습니다.");
+        }
+        NavigableMap<Long, PointSummary.Bucket> hours = byUser.getOrDefault(userId, Collections.emptyNavigableMap());
+        long fromMillis = from == null ? firstBoundary(hours, granularity) : floor(from, granularity);
+        long toMillis = to == null ? lastBoundary(hours, granularity) : ceil(to, granularity);
+        if (fromMillis >= toMillis) {
+            // 한쪽 경계만 주어졌는데 기록이 없거나 모두 그 바깥에 있으면, 주어진 경계에서 빈 구간
+            long at = from != null ? fromMillis : toMillis;
+            return new PointSummary(userId, granularity, at, at, 0, 0, 0, 0, List.of());
+        }
+
+        List<PointSummary.Bucket> buckets = new ArrayList<>();
+        long charged = 0, used = 0, chargeCount = 0, useCount = 0;
+        PointSummary.Bucket current = null;
+        for (Map.Entry<Long, PointSummary.Bucket> entry : hours.subMap(fromMillis, true, toMillis, false).entrySet()) {
+            PointSummary.Bucket hour = entry.getValue();
+            charged += hour.chargedAmount();
+            used += hour.usedAmount();
+            chargeCount += hour.chargeCount();
+            useCount += hour.useCount();
+            long start = floor(entry.getKey(), granularity);
+            if (current != null && current.startMillis() == start) {
+                current = current.plus(hour);
+                buckets.set(buckets.size() - 1, current);
+            } else {
+                current = new PointSummary.Bucket(start, hour.chargedAmount(), hour.usedAmount(),
+                        hour.chargeCount(), hour.useCount());
+                buckets.add(current);
+            }
+        }
+        return new PointSummary(userId, granularity, fromMillis, toMillis, charged, used, chargeCount, useCount,
+                List.copyOf(buckets));
+    }
+
+    private long firstBoundary(NavigableMap<Long, PointSummary.Bucket> hours, PointSummary.Granularity granularity) {
+        return hours.isEmpty() ? 0 : floor(hours.firstKey(), granularity);
+    }
+
+    private long lastBoundary(NavigableMap<Long, PointSummary.Bucket> hours, PointSummary.Granularity granularity) {
+        return hours.isEmpty() ? 0 : ceil(hours.lastKey() + 1, granularity);
+    }
+
+    private long floor(long millis, PointSummary.Granularity granularity) {
+        if (granularity == PointSummary.Granularity.HOUR) {
+            return Math.floorDiv(millis, HOUR_MILLIS) * HOUR_MILLIS;
+        }
+        return Instant.ofEpochMilli(millis).atZone(zone).truncatedTo(ChronoUnit.DAYS).toInstant().toEpochMilli();
+    }
+
+    private long ceil(long millis, PointSummary.Granularity granularity) {
+        long floor = floor(millis, granularity);
+        if (floor == millis) {
+            return millis;
+        }
+        if (granularity == PointSummary.Granularity.HOUR) {
+            return floor > Long.MAX_VALUE - HOUR_MILLIS ? Long.MAX_VALUE : floor + HOUR_MILLIS;
+        }
+        return Instant.ofEpochMilli(floor).atZone(zone).plusDays(1).toInstant().toEpochMilli();
+    }
+}
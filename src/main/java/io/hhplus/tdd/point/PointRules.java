@@ -0,0 +1,40 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 충전/사용 시 잔액 계산 규칙
+ * - 충전 : 오버플로 시 IllegalArgumentException("허용 범위를 초과합니다.") → 400
+ * - 사용 : 잔액 부족 시 IllegalStateException("잔액 부족") → 409
+ */
+final class PointRules {
+
+    static final String OVERFLOW_MESSAGE = "허용 범위를 초과합니다.";
+    static final String INSUFFICIENT_BALANCE_MESSAGE = "잔액 부족";
+
+    private PointRules() {
+    }
+
+    static long apply(long current, TransactionType type, long amount) {
+        return switch (type) {
+            case CHARGE -> charge(current, amount);
+            case USE -> use(current, amount);
+        };
+    }
+
+    static long charge(long current, long amount) {
+        if (willOverflow(current, amount)) {
+            throw new IllegalArgumentException(OVERFLOW_MESSAGE);
+        }
+        return current + amount;
+    }
+
+    static long use(long current, long amount) {
+        if (current < amount) {
+            throw new IllegalStateException(INSUFFICIENT_BALANCE_MESSAGE);
+        }
+        return current - amount;
+    }
+
+    private static boolean willOverflow(long a, long b) {
+        return (b > 0 && a > Long.MAX_VALUE - b) || (b < 0 && a < Long.MIN_VALUE - b);
+    }
+}
@@ -2,72 +2,836 @@ package io.hhplus.tdd.point;
 
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
 
 @Service
 public class PointService {
 
-    private final UserPointTable userPointTable;
+    static final String SAME_USER_TRANSFER_MESSAGE = "같은 유저에게 이체할 수 없습니다.";
+    static final String TRANSFER_UNSUPPORTED_MESSAGE = "낙관적/파티션 모드에서는 이체를 지원하지 않습니다.";
+    static final String EMPTY_IDS_MESSAGE = "조회할 유저 id 가 없습니다.";
+    static final String EMPTY_COMMANDS_MESSAGE = "일괄 처리할 요청 목록이 없습니다.";
+    static final String EMPTY_COMMAND_MESSAGE = "비어 있는 요청입니다.";
+
+    // 잔액 저장소 (point.store.balance, 기본은 UserPointTable)
+    private final UserPointStore userPointStore;
     private final PointHistoryTable pointHistoryTable;
 
-    // 유저별 직렬화를 위한 공정 락 캐시
-    private final ConcurrentHashMap<Long, ReentrantLock> locks = new ConcurrentHashMap<>();
+    // 유저별 직렬화를 위한 락 (point.lock.strategy, 기본은 유저별 공정 락 캐시)
+    private final UserLocks locks;
+
+    // 배치 모드(point.batching.enabled) 또는 hot user 감지(point.hot-user.enabled) 시에만 생성
+    private final PointMutationBatcher batcher;
+    private final boolean batchAll;
+
+    // 경합이 몰리는 유저 감지, 활성화 시에만 생성 (hot 유저만 배치 경로로 보낸다)
+    private final HotUserDetector hotUserDetector;
+
+    // 잔액 캐시, 활성화 시에만 생성 (point.cache.enabled)
+    private final UserPointCache cache;
+
+    // 같은 유저의 동시 조회 합치기, 활성화 시에만 생성 (point.read-coalescing.enabled)
+    private final SingleFlight readFlights;
+
+    // 버전 CAS 로 커밋하는 낙관적 모드의 잔액, 활성화 시에만 생성 (point.optimistic.enabled)
+    // 테이블/내역 기록은 유저별 writer(내역 파이프라인)가 커밋 순서대로 뒤따라 한다
+    private final OptimisticBalances optimistic;
+
+    // 유저 파티션별 단일 writer, 활성화 시에만 생성 (point.partitioned.enabled)
+    // 충전/사용은 유저의 파티션 worker 가 유저 락 없이 실행한다
+    private final UserPartitions partitions;
+
+    // 유저별 내역 인덱스 (전체 내역을 훑지 않고 유저 내역만 읽기 위함)
+    private final PointHistoryIndex historyIndex = new PointHistoryIndex();
+
+    // 컬럼형 내역 저장소, point.store.history=COLUMNAR 일 때만 생성 (이때는 테이블과 인덱스 대신 쓴다)
+    private final ColumnarPointHistoryStore columnarHistory;
+
+    // Idempotency-Key 별 충전/사용 결과, 활성화 시에만 생성 (point.idempotency.enabled)
+    private final IdempotencyCache idempotency;
+
+    // 유저별 시간 단위 충전/사용 집계, 활성화 시에만 생성 (point.summary.enabled)
+    private final PointRollups rollups;
+    private final ZoneId summaryZone;
+
+    // 내역 비동기 기록 파이프라인, 활성화 시에만 생성 (point.async-history.enabled, 낙관적 모드에서도 생성)
+    private final HistoryAppendPipeline historyPipeline;
+    private final boolean readYourWrites;
+
+    // 일괄 처리 시 유저 그룹을 병렬로 실행하는 풀 (point.bulk.parallelism), 쉬는 스레드는 정리된다
+    private final ThreadPoolExecutor bulkExecutor;
+    private final int maxCommands;
+
+    // 여러 유저 조회 시 캐시에 없는 유저의 테이블 조회를 병렬로 실행하는 풀 (point.multi-get.parallelism)
+    private final ThreadPoolExecutor readExecutor;
+    private final int maxIds;
+
+    // 락 대기/테이블 호출/전체 처리 시간 계측 (Spring 밖에서 생성하면 NOOP)
+    private final PointMetrics metrics;
+
+    // 충전/사용 저널과 잔액 스냅샷, 활성화 시에만 생성 (point.journal.enabled, point.snapshot.enabled)
+    private final PointJournal journal;
+    private final PointSnapshots snapshots;
 
     public PointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable) {
-        this.userPointTable = userPointTable;
+        this(userPointTable, pointHistoryTable, new PointProperties());
+    }
+
+    public PointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable, PointProperties properties) {
+        this(userPointTable, pointHistoryTable, properties, PointMetrics.NOOP);
+    }
+
+    @Autowired
+    public PointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable, PointProperties properties,
+                        PointMetrics metrics) {
+        this.userPointStore = UserPointStore.create(properties.getStore().getBalance(), userPointTable,
+                properties.getStore().getInitialCapacity());
         this.pointHistoryTable = pointHistoryTable;
+        this.columnarHistory = properties.getStore().getHistory() == PointProperties.Store.HistoryType.COLUMNAR
+                ? new ColumnarPointHistoryStore()
+                : null;
+        this.metrics = metrics;
+        this.summaryZone = ZoneId.of(properties.getSummary().getZone());
+        this.rollups = properties.getSummary().isEnabled() ? new PointRollups(summaryZone) : null;
+        PointProperties.Idempotency idempotency = properties.getIdempotency();
+        this.idempotency = idempotency.isEnabled()
+                ? new IdempotencyCache(idempotency.getTtlMillis(), idempotency.getMaximumSize())
+                : null;
+        if (properties.getJournal().isEnabled()) {
+            PointProperties.Journal journaling = properties.getJournal();
+            PointProperties.Snapshot snapshot = properties.getSnapshot();
+            PointJournal opened = PointJournal.open(Path.of(journaling.getDirectory()), journaling.getSegmentBytes(),
+                    journaling.getDurability());
+            PointSnapshots.Snapshot base = snapshot.isEnabled()
+                    ? PointSnapshots.loadLatest(Path.of(snapshot.getDirectory()), opened.lastSequence())
+                    : PointSnapshots.Snapshot.EMPTY;
+            Map<Long, Long> balances = new HashMap<>(base.balances());
+            replayJournal(opened, base.sequence(), balances);
+            this.journal = opened;
+            this.snapshots = snapshot.isEnabled()
+                    ? new PointSnapshots(Path.of(snapshot.getDirectory()), journal, journal.lastSequence(), balances,
+                            snapshot.getIntervalMillis(), snapshot.getRetained())
+                    : null;
+        } else {
+            this.journal = null;
+            this.snapshots = null;
+        }
+        this.locks = UserLocks.create(properties.getLock().getStrategy(), properties.getLock().getStripes());
+        PointProperties.HotUser hotUser = properties.getHotUser();
+        this.hotUserDetector = hotUser.isEnabled()
+                ? new HotUserDetector(hotUser.getWindowMillis(), hotUser.getQueueThreshold(),
+                        hotUser.getWaitThresholdMillis(), hotUser.getMaxTracked())
+                : null;
+        this.batchAll = properties.getBatching().isEnabled();
+        this.batcher = batchAll || hotUserDetector != null
+                ? new PointMutationBatcher(this::acquire, this::applyBatch, properties.getBatching().getMaxBatchSize())
+                : null;
+        this.cache = properties.getCache().isEnabled()
+                ? new UserPointCache(properties.getCache().getMaximumSize())
+                : null;
+        this.readFlights = properties.getReadCoalescing().isEnabled() ? new SingleFlight() : null;
+        PointProperties.Optimistic optimistic = properties.getOptimistic();
+        this.optimistic = optimistic.isEnabled()
+                ? new OptimisticBalances(optimistic.getMaxAttempts(), optimistic.getInitialBackoffNanos(),
+                        optimistic.getMaxBackoffNanos())
+                : null;
+        PointProperties.Partitioned partitioned = properties.getPartitioned();
+        this.partitions = partitioned.isEnabled() && this.optimistic == null
+                ? new UserPartitions(partitioned.getPartitions() > 0
+                        ? partitioned.getPartitions()
+                        : Runtime.getRuntime().availableProcessors(), partitioned.getQueueCapacity())
+                : null;
+        PointProperties.AsyncHistory asyncHistory = properties.getAsyncHistory();
+        this.historyPipeline = asyncHistory.isEnabled() || this.optimistic != null
+                ? new HistoryAppendPipeline(asyncHistory.getPartitions() > 0
+                        ? asyncHistory.getPartitions()
+                        : Runtime.getRuntime().availableProcessors(), asyncHistory.getQueueCapacity(), this::appendHistory)
+                : null;
+        this.readYourWrites = asyncHistory.isReadYourWrites();
+        this.bulkExecutor = newExecutor("point-bulk-", properties.getBulk().getParallelism());
+        this.maxCommands = properties.getBulk().getMaxCommands();
+        this.readExecutor = newExecutor("point-read-", properties.getMultiGet().getParallelism());
+        this.maxIds = properties.getMultiGet().getMaxIds();
+    }
+
+    @PreDestroy
+    public void close() {
+        bulkExecutor.shutdown();
+        readExecutor.shutdown();
+        if (partitions != null) {
+            partitions.close();
+        }
+        if (historyPipeline != null) {
+            historyPipeline.close();
+        }
+        if (snapshots != null) {
+            snapshots.close();
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    // 지금까지 저널에 기록된 잔액으로 스냅샷을 쓰고 그 seq 를 돌려준다 (스냅샷 비활성화 시 -1)
+    public long checkpoint() {
+        return snapshots == null ? -1 : snapshots.checkpoint();
     }
 
     public UserPoint get(long userId) {
-        return userPointTable.selectById(userId);
+        long start = System.nanoTime();
+        try {
+            UserPoint point = read(userId);
+            metrics.recordOperation(PointMetrics.Operation.GET, PointMetrics.Outcome.SUCCESS, System.nanoTime() - start);
+            return point;
+        } catch (RuntimeException e) {
+            metrics.recordOperation(PointMetrics.Operation.GET, PointMetrics.outcomeOf(e), System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    /**
+     * 여러 유저의 잔액을 요청한 id 순서 그대로 돌려준다 (중복 id 는 한 번만 조회).
+     * - 캐시에 있는 유저는 바로 쓰고, 나머지의 테이블 조회는 읽기 풀에서 동시에 실행해 전체 지연이 조회 한 번에 가깝다.
+     * - 한 명이라도 조회에 실패하면 그 예외를 그대로 던진다.
+     */
+    public List<UserPoint> getAll(List<Long> userIds) {
+        long start = System.nanoTime();
+        try {
+            List<UserPoint> points = readAll(userIds);
+            metrics.recordOperation(PointMetrics.Operation.GET_ALL, PointMetrics.Outcome.SUCCESS, System.nanoTime() - start);
+            return points;
+        } catch (RuntimeException e) {
+            metrics.recordOperation(PointMetrics.Operation.GET_ALL, PointMetrics.outcomeOf(e), System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    private List<UserPoint> readAll(List<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            throw new IllegalArgumentException(EMPTY_IDS_MESSAGE);
+        }
+        if (userIds.size() > maxIds) {
+            throw new IllegalArgumentException("한 번에 조회할 수 있는 유저는 최대 " + maxIds + "명입니다.");
+        }
+        Map<Long, CompletableFuture<UserPoint>> byUser = new HashMap<>();
+        for (Long userId : userIds) {
+            if (userId == null) {
+                throw new IllegalArgumentException(EMPTY_IDS_MESSAGE);
+            }
+            byUser.computeIfAbsent(userId, id -> {
+                UserPoint cached = cached(id);
+                return cached != null
+                        ? CompletableFuture.completedFuture(cached)
+                        : CompletableFuture.supplyAsync(() -> readMiss(id), readExecutor);
+            });
+        }
+
+        List<UserPoint> points = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            try {
+                points.add(byUser.get(userId).join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        return points;
+    }
+
+    private UserPoint read(long userId) {
+        UserPoint cached = cached(userId);
+        return cached != null ? cached : readMiss(userId);
+    }
+
+    // 캐시에 있는 잔액, 없거나 캐시를 쓰지 않으면 null (낙관적 모드는 readMiss 에서 메모리 버전을 읽는다)
+    private UserPoint cached(long userId) {
+        if (optimistic != null || cache == null) {
+            return null;
+        }
+        return cache.get(userId);
+    }
+
+    private UserPoint readMiss(long userId) {
+        if (optimistic != null) {
+            return optimistic.current(userId, this::selectPoint).toUserPoint(userId);
+        }
+        return readFlights != null ? readFlights.load(userId, () -> load(userId)) : load(userId);
+    }
+
+    private UserPoint load(long userId) {
+        if (cache == null) {
+            return selectPoint(userId);
+        }
+        if (partitions != null) {
+            return partitions.call(userId, () -> loadBalance(userId));
+        }
+        // 미스는 유저 락 안에서 채워, 동시에 커밋된 충전/사용 결과를 오래된 값으로 덮지 않는다
+        Lock lock = acquire(userId);
+        try {
+            return loadBalance(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 캐시 비활성화 시 null
+    public UserPointCache.Stats cacheStats() {
+        return cache == null ? null : cache.stats();
+    }
+
+    // 현재 배치 경로로 처리 중인 hot 유저 (감지 비활성화 시 빈 목록)
+    public List<HotUser> hotUsers() {
+        return hotUserDetector == null ? List.of() : hotUserDetector.snapshot();
     }
 
     public List<PointHistory> histories(long userId) {
-        return pointHistoryTable.selectAllByUserId(userId);
+        long start = System.nanoTime();
+        try {
+            awaitHistoryIfRequired(userId);
+            List<PointHistory> histories = columnarHistory != null
+                    ? columnarHistory.selectAllByUserId(userId)
+                    : userHistory(userId).snapshot();
+            metrics.recordOperation(PointMetrics.Operation.HISTORIES, PointMetrics.Outcome.SUCCESS, System.nanoTime() - start);
+            return histories;
+        } catch (RuntimeException e) {
+            metrics.recordOperation(PointMetrics.Operation.HISTORIES, PointMetrics.outcomeOf(e), System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    public PointHistoryPage histories(long userId, PointHistoryQuery query) {
+        long start = System.nanoTime();
+        try {
+            awaitHistoryIfRequired(userId);
+            PointHistoryPage page = columnarHistory != null
+                    ? columnarHistory.page(userId, query)
+                    : userHistory(userId).page(query);
+            metrics.recordOperation(PointMetrics.Operation.HISTORIES, PointMetrics.Outcome.SUCCESS, System.nanoTime() - start);
+            return page;
+        } catch (RuntimeException e) {
+            metrics.recordOperation(PointMetrics.Operation.HISTORIES, PointMetrics.outcomeOf(e), System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    // [from, to) 구간의 충전/사용 요약 (집계 비활성화 시 전체 내역을 합산)
+    public PointSummary summary(long userId, PointSummary.Granularity granularity, Long from, Long to) {
+        long start = System.nanoTime();
+        try {
+            PointSummary summary = rollups != null
+                    ? rollups.summarize(userId, granularity, from, to)
+                    : PointRollups.summarize(userId, histories(userId), granularity, from, to, summaryZone);
+            metrics.recordOperation(PointMetrics.Operation.SUMMARY, PointMetrics.Outcome.SUCCESS, System.nanoTime() - start);
+            return summary;
+        } catch (RuntimeException e) {
+            metrics.recordOperation(PointMetrics.Operation.SUMMARY, PointMetrics.outcomeOf(e), System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    // 비동기 내역 기록 모드에서, 이 시점까지 커밋된 유저의 내역이 모두 기록될 때까지 기다린다
+    public void flushHistories(long userId) {
+        if (historyPipeline != null) {
+            historyPipeline.flush(userId);
+        }
+    }
+
+    public void flushHistories() {
+        if (historyPipeline != null) {
+            historyPipeline.flushAll();
+        }
+    }
+
+    // 서비스를 통해 내역이 기록되었거나 조회된 유저 id (오름차순)
+    public long[] historyUserIds() {
+        return columnarHistory != null ? columnarHistory.userIds() : historyIndex.knownUserIds();
     }
 
     public UserPoint charge(long userId, long amount) {
+        return charge(userId, amount, null);
+    }
+
+    public UserPoint use(long userId, long amount) {
+        return use(userId, amount, null);
+    }
+
+    // idempotencyKey 가 있으면 같은 키의 이전(또는 진행 중인) 요청 결과를 돌려준다 (유저 락을 잡기 전에 확인)
+    public UserPoint charge(long userId, long amount, String idempotencyKey) {
+        return mutate(PointMetrics.Operation.CHARGE, userId, TransactionType.CHARGE, amount, idempotencyKey);
+    }
+
+    public UserPoint use(long userId, long amount, String idempotencyKey) {
+        return mutate(PointMetrics.Operation.USE, userId, TransactionType.USE, amount, idempotencyKey);
+    }
+
+    /**
+     * fromId 의 포인트를 toId 로 옮긴다.
+     * - 두 유저의 락을 전역 순서(UserLocks.orderKey)대로 잡아 교착 없이, 두 잔액 기록과 출금/입금 내역을 락 안에서 함께 남긴다.
+     * - 잔액 부족(409)이나 받는 쪽 범위 초과(400)면 어느 쪽도 바뀌지 않는다.
+     * - 저널에는 두 기록을 묶어 남겨, 복구 시 한쪽만 반영되지 않는다.
+     * - 유저 락을 쓰지 않는 낙관적/파티션 모드에서는 409 로 거절한다.
+     */
+    public PointTransfer transfer(long fromId, long toId, long amount) {
+        long start = System.nanoTime();
+        try {
+            PointTransfer transfer = applyTransfer(fromId, toId, amount);
+            metrics.recordOperation(PointMetrics.Operation.TRANSFER, PointMetrics.Outcome.SUCCESS, System.nanoTime() - start);
+            return transfer;
+        } catch (RuntimeException e) {
+            metrics.recordOperation(PointMetrics.Operation.TRANSFER, PointMetrics.outcomeOf(e), System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    private PointTransfer applyTransfer(long fromId, long toId, long amount) {
         validateAmount(amount);
-        ReentrantLock lock = lockFor(userId);
-        lock.lock();
+        if (fromId == toId) {
+            throw new IllegalArgumentException(SAME_USER_TRANSFER_MESSAGE);
+        }
+        if (optimistic != null || partitions != null) {
+            throw new IllegalStateException(TRANSFER_UNSUPPORTED_MESSAGE);
+        }
+        long fromKey = locks.orderKey(fromId);
+        long toKey = locks.orderKey(toId);
+        Lock first = acquire(fromKey < toKey ? fromId : toId);
         try {
-            UserPoint current = userPointTable.selectById(userId);
-            if (willOverflow(current.point(), amount)) {
-                throw new IllegalArgumentException("허용 범위를 초과합니다.");
+            // 같은 스트라이프면 이미 잡은 락 하나로 두 유저가 모두 보호된다
+            if (fromKey == toKey) {
+                return transferOwned(fromId, toId, amount);
+            }
+            Lock second = acquire(fromKey < toKey ? toId : fromId);
+            try {
+                return transferOwned(fromId, toId, amount);
+            } finally {
+                second.unlock();
             }
-            long newPoint = current.point() + amount;
-            UserPoint updated = userPointTable.insertOrUpdate(userId, newPoint);
-            pointHistoryTable.insert(userId, amount, TransactionType.CHARGE, System.currentTimeMillis());
-            return updated;
         } finally {
-            lock.unlock();
+            first.unlock();
         }
     }
 
-    public UserPoint use(long userId, long amount) {
+    // 두 유저의 락 보유 상태에서 호출
+    private PointTransfer transferOwned(long fromId, long toId, long amount) {
+        long fromPoint = PointRules.use(loadBalance(fromId).point(), amount);
+        long toPoint = PointRules.charge(loadBalance(toId).point(), amount);
+        long updateMillis = System.currentTimeMillis();
+        return withHistorySlot(fromId, () -> withHistorySlot(toId, () -> {
+            if (journal != null) {
+                journal.appendTransfer(fromId, toId, amount, updateMillis);
+            }
+            UserPoint from = storeBalance(fromId, fromPoint);
+            UserPoint to = storeBalance(toId, toPoint);
+            recordHistory(fromId, amount, TransactionType.USE, updateMillis);
+            recordHistory(toId, amount, TransactionType.CHARGE, updateMillis);
+            return new PointTransfer(from, to);
+        }));
+    }
+
+    private UserPoint mutate(PointMetrics.Operation operation, long userId, TransactionType type, long amount,
+                             String idempotencyKey) {
+        long start = System.nanoTime();
+        try {
+            UserPoint updated = idempotency != null && idempotencyKey != null
+                    ? idempotency.execute(userId, idempotencyKey, type, amount, () -> apply(userId, type, amount))
+                    : apply(userId, type, amount);
+            metrics.recordOperation(operation, PointMetrics.Outcome.SUCCESS, System.nanoTime() - start);
+            return updated;
+        } catch (RuntimeException e) {
+            metrics.recordOperation(operation, PointMetrics.outcomeOf(e), System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    private UserPoint apply(long userId, TransactionType type, long amount) {
         validateAmount(amount);
-        ReentrantLock lock = lockFor(userId);
-        lock.lock();
+        if (optimistic != null) {
+            return applyOptimistic(userId, type, amount);
+        }
+        if (partitions != null) {
+            return partitions.call(userId, () -> applyOwned(userId, type, amount));
+        }
+        if (batcher != null && (batchAll || hotUserDetector.isHot(userId))) {
+            return batcher.submit(userId, type, amount);
+        }
+        Lock lock = acquire(userId);
         try {
-            UserPoint current = userPointTable.selectById(userId);
-            if (current.point() < amount) {
-                throw new IllegalStateException("잔액 부족");
+            return applyOwned(userId, type, amount);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 유저의 단일 writer(유저 락 보유 스레드 또는 파티션 worker)에서 호출
+    private UserPoint applyOwned(long userId, TransactionType type, long amount) {
+        UserPoint current = loadBalance(userId);
+        long newPoint = PointRules.apply(current.point(), type, amount);
+        long updateMillis = System.currentTimeMillis();
+        return withHistorySlot(userId, () -> {
+            if (journal != null) {
+                journal.append(userId, amount, type, updateMillis);
             }
-            long newPoint = current.point() - amount;
-            UserPoint updated = userPointTable.insertOrUpdate(userId, newPoint);
-            pointHistoryTable.insert(userId, amount, TransactionType.USE, System.currentTimeMillis());
+            UserPoint updated = storeBalance(userId, newPoint);
+            recordHistory(userId, amount, type, updateMillis);
             return updated;
+        });
+    }
+
+    /**
+     * 낙관적 모드: 유저 락 없이 버전 CAS 로 커밋하고, 테이블/내역 기록은 유저의 writer 에 맡긴다.
+     * - 커밋은 유저의 writer 가 기록을 받는 동안에만 한다 (종료 뒤에는 잔액을 바꾸기 전에 409).
+     * - 저널은 커밋한 스레드가 바로 쓴다 (같은 유저의 저널 순서가 커밋 순서와 다를 수 있지만, 재생 결과 잔액은 같다).
+     *   writer 는 저널에 남은 버전까지만 기록하고, 저널 기록에 실패하면 커밋을 되돌리고 예외를 그대로 던진다.
+     * - writer 는 그때까지 커밋된 버전을 한꺼번에 기록하므로, 뒤따르는 작업은 기록할 것이 없으면 바로 끝난다.
+     */
+    private UserPoint applyOptimistic(long userId, TransactionType type, long amount) {
+        return historyPipeline.admit(userId, () -> {
+            OptimisticBalances.Version committed = optimistic.commit(userId, type, amount, this::selectPoint);
+            if (journal != null) {
+                try {
+                    journal.append(userId, amount, type, committed.updateMillis);
+                } catch (RuntimeException e) {
+                    optimistic.revert(userId, committed);
+                    throw e;
+                }
+            }
+            optimistic.confirm(committed);
+            if (rollups != null) {
+                rollups.record(userId, amount, type, committed.updateMillis);
+            }
+            historyPipeline.execute(userId, () -> persistOptimistic(userId));
+            return committed.toUserPoint(userId);
+        });
+    }
+
+    // 유저의 writer 에서 호출: 아직 기록하지 않은 버전의 내역을 버전 순서대로 남기고, 최신 잔액을 한 번 기록한다
+    private void persistOptimistic(long userId) {
+        List<OptimisticBalances.Version> pending = optimistic.unpersisted(userId);
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (OptimisticBalances.Version version : pending) {
+            appendHistory(userId, version.amount, version.type, version.updateMillis);
+        }
+        storeBalance(userId, pending.get(pending.size() - 1).point);
+        optimistic.markPersisted(pending);
+    }
+
+    /**
+     * 여러 유저의 충전/사용을 한 번에 처리한다.
+     * - 유저별로 묶어 요청 순서대로 한 번의 락 안에서 반영하고(잔액 조회/갱신 1회), 유저끼리는 병렬로 실행한다.
+     * - 결과는 요청과 같은 순서로, 건별 성공(잔액) 또는 실패(예외)를 돌려준다.
+     * - 건수가 point.bulk.max-commands 를 넘으면 전체를 400 으로 거절한다.
+     */
+    public List<PointCommandResult> applyAll(List<PointCommand> commands) {
+        if (commands == null) {
+            throw new IllegalArgumentException(EMPTY_COMMANDS_MESSAGE);
+        }
+        if (commands.size() > maxCommands) {
+            throw new IllegalArgumentException("한 번에 처리할 수 있는 요청은 최대 " + maxCommands + "건입니다.");
+        }
+        List<PendingMutation> mutations = new ArrayList<>(commands.size());
+        Map<Long, List<PendingMutation>> byUser = new LinkedHashMap<>();
+        for (PointCommand command : commands) {
+            PendingMutation mutation = command == null
+                    ? new PendingMutation(null, 0)
+                    : new PendingMutation(command.type(), command.amount());
+            mutations.add(mutation);
+            try {
+                validateCommand(command);
+            } catch (RuntimeException e) {
+                mutation.result.completeExceptionally(e);
+                continue;
+            }
+            byUser.computeIfAbsent(command.userId(), id -> new ArrayList<>()).add(mutation);
+        }
+
+        List<CompletableFuture<Void>> groups = new ArrayList<>(byUser.size());
+        byUser.forEach((userId, batch) ->
+                groups.add(CompletableFuture.runAsync(() -> applyGroup(userId, batch), bulkExecutor)));
+        CompletableFuture.allOf(groups.toArray(CompletableFuture[]::new)).join();
+
+        List<PointCommandResult> results = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            results.add(toResult(commands.get(i), mutations.get(i)));
+        }
+        return results;
+    }
+
+    private void applyGroup(long userId, List<PendingMutation> batch) {
+        if (partitions != null) {
+            try {
+                partitions.call(userId, () -> {
+                    applyBatch(userId, batch);
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                batch.forEach(mutation -> mutation.result.completeExceptionally(e));
+            }
+            return;
+        }
+        if (optimistic == null) {
+            applyLocked(userId, batch);
+            return;
+        }
+        for (PendingMutation mutation : batch) {
+            try {
+                mutation.result.complete(applyOptimistic(userId, mutation.type, mutation.amount));
+            } catch (RuntimeException e) {
+                mutation.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void applyLocked(long userId, List<PendingMutation> batch) {
+        Lock lock = acquire(userId);
+        try {
+            applyBatch(userId, batch);
+        } catch (RuntimeException e) {
+            batch.forEach(mutation -> mutation.result.completeExceptionally(e));
         } finally {
             lock.unlock();
         }
     }
 
-    private ReentrantLock lockFor(long userId) {
-        return locks.computeIfAbsent(userId, id -> new ReentrantLock(true));
+    private static PointCommandResult toResult(PointCommand command, PendingMutation mutation) {
+        try {
+            return new PointCommandResult(command, mutation.result.join(), null);
+        } catch (CompletionException e) {
+            RuntimeException error = e.getCause() instanceof RuntimeException cause ? cause : e;
+            return new PointCommandResult(command, null, error);
+        }
+    }
+
+    // 유저의 단일 writer(락 보유 스레드 또는 파티션 worker)에서 호출: 대기 요청을 순서대로 하나의 잔액에 반영하고, 잔액은 한 번만 기록
+    private void applyBatch(long userId, List<PendingMutation> batch) {
+        long balance = loadBalance(userId).point();
+
+        List<PendingMutation> applied = new ArrayList<>(batch.size());
+        long[] balances = new long[batch.size()];
+        for (PendingMutation mutation : batch) {
+            try {
+                balance = PointRules.apply(balance, mutation.type, mutation.amount);
+            } catch (RuntimeException e) {
+                // 실패한 요청만 제외하고 나머지는 계속 반영
+                mutation.result.completeExceptionally(e);
+                continue;
+            }
+            balances[applied.size()] = balance;
+            applied.add(mutation);
+        }
+        if (applied.isEmpty()) {
+            return;
+        }
+
+        long updateMillis = System.currentTimeMillis();
+        long committed = balance;
+        UserPoint updated = withHistorySlot(userId, () -> {
+            if (journal != null) {
+                journal.appendAll(userId, applied, updateMillis);
+            }
+            UserPoint stored = storeBalance(userId, committed);
+            for (PendingMutation mutation : applied) {
+                recordHistory(userId, mutation.amount, mutation.type, updateMillis);
+            }
+            return stored;
+        });
+        // 각 요청에는 자신이 반영된 직후의 잔액을 돌려준다
+        for (int i = 0; i < applied.size(); i++) {
+            applied.get(i).result.complete(new UserPoint(userId, balances[i], updated.updateMillis()));
+        }
+    }
+
+    // 유저의 단일 writer 에서 호출: 캐시 → 테이블 순으로 읽고 캐시를 채운다 (read-through)
+    private UserPoint loadBalance(long userId) {
+        if (cache == null) {
+            return selectPoint(userId);
+        }
+        UserPoint cached = cache.peek(userId);
+        if (cached != null) {
+            return cached;
+        }
+        UserPoint loaded = selectPoint(userId);
+        cache.put(loaded);
+        return loaded;
+    }
+
+    // 유저의 단일 writer 에서 호출: 테이블에 기록한 뒤 캐시에도 반영 (write-through)
+    private UserPoint storeBalance(long userId, long point) {
+        long start = System.nanoTime();
+        UserPoint updated;
+        try {
+            updated = userPointStore.insertOrUpdate(userId, point);
+        } finally {
+            metrics.recordCall(PointMetrics.Call.UPDATE_POINT, System.nanoTime() - start);
+        }
+        if (cache != null) {
+            cache.put(updated);
+        }
+        if (readFlights != null) {
+            readFlights.forget(userId);
+        }
+        return updated;
+    }
+
+    /**
+     * 비동기 내역 모드에서는 유저의 내역 파티션이 기록을 받는 동안에만 action(저널 → 잔액 → 내역)을 실행한다.
+     * 종료 뒤의 요청은 저널/잔액을 바꾸기 전에 409 로 거절되어, 잔액만 바뀌고 내역이 없는 상태가 생기지 않는다.
+     */
+    private <T> T withHistorySlot(long userId, Supplier<T> action) {
+        return historyPipeline == null ? action.get() : historyPipeline.admit(userId, action);
+    }
+
+    // 유저의 단일 writer 에서 호출: 동기 모드면 바로, 비동기 모드면 파이프라인을 거쳐 내역을 기록한다
+    private void recordHistory(long userId, long amount, TransactionType type, long updateMillis) {
+        if (rollups != null) {
+            rollups.record(userId, amount, type, updateMillis);
+        }
+        if (historyPipeline != null) {
+            historyPipeline.submit(userId, amount, type, updateMillis);
+            return;
+        }
+        appendHistory(userId, amount, type, updateMillis);
+    }
+
+    // 유저의 내역 writer(동기 모드: 락 보유 스레드 또는 파티션 worker, 비동기 모드: 파이프라인 writer)에서 호출
+    private void appendHistory(long userId, long amount, TransactionType type, long updateMillis) {
+        long start = System.nanoTime();
+        PointHistory inserted;
+        try {
+            if (columnarHistory != null) {
+                columnarHistory.insert(userId, amount, type, updateMillis);
+                return;
+            }
+            inserted = pointHistoryTable.insert(userId, amount, type, updateMillis);
+        } finally {
+            metrics.recordCall(PointMetrics.Call.INSERT_HISTORY, System.nanoTime() - start);
+        }
+        historyIndex.append(inserted);
+    }
+
+    private UserPoint selectPoint(long userId) {
+        long start = System.nanoTime();
+        try {
+            return userPointStore.selectById(userId);
+        } finally {
+            metrics.recordCall(PointMetrics.Call.SELECT_POINT, System.nanoTime() - start);
+        }
+    }
+
+    private List<PointHistory> selectHistories(long userId) {
+        long start = System.nanoTime();
+        try {
+            return pointHistoryTable.selectAllByUserId(userId);
+        } finally {
+            metrics.recordCall(PointMetrics.Call.SELECT_HISTORIES, System.nanoTime() - start);
+        }
+    }
+
+    private void awaitHistoryIfRequired(long userId) {
+        if (historyPipeline != null && readYourWrites) {
+            historyPipeline.flush(userId);
+        }
+    }
+
+    // 처음 조회하는 유저는 그 유저의 내역 writer 에서 테이블로부터 인덱스를 채운다 (이후 기록과 겹치지 않도록)
+    private PointHistoryIndex.UserHistory userHistory(long userId) {
+        PointHistoryIndex.UserHistory indexed = historyIndex.find(userId);
+        if (indexed != null) {
+            return indexed;
+        }
+        if (historyPipeline != null) {
+            return historyPipeline.callOnWriter(userId,
+                    () -> historyIndex.bootstrap(userId, () -> selectHistories(userId)));
+        }
+        if (partitions != null) {
+            // 파티션 모드의 동기 기록은 유저 락 없이 파티션 worker 가 하므로, 채우기도 같은 worker 에서 한다
+            return partitions.call(userId, () -> historyIndex.bootstrap(userId, () -> selectHistories(userId)));
+        }
+        Lock lock = acquire(userId);
+        try {
+            return historyIndex.bootstrap(userId, () -> selectHistories(userId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 유저 락을 잡은 채로 돌려준다 (호출자가 unlock), 대기 시간은 point.lock.wait 와 hot user 감지에 쓴다
+    private Lock acquire(long userId) {
+        Lock lock = locks.lockFor(userId);
+        long start = System.nanoTime();
+        HotUserDetector.Stat tracked = hotUserDetector == null ? null : hotUserDetector.beforeWait(userId, start);
+        lock.lock();
+        long acquired = System.nanoTime();
+        metrics.recordLockWait(acquired - start);
+        if (hotUserDetector != null) {
+            hotUserDetector.afterWait(userId, tracked, acquired - start, acquired);
+        }
+        return lock;
+    }
+
+    private void validateCommand(PointCommand command) {
+        if (command == null) {
+            throw new IllegalArgumentException(EMPTY_COMMAND_MESSAGE);
+        }
+        if (command.type() == null) {
+            throw new IllegalArgumentException("거래 종류는 CHARGE 또는 USE 여야 합니다.");
+        }
+        validateAmount(command.amount());
+    }
+
+    /**
+     * 스냅샷(snapshotSequence 까지의 잔액, balances) 이후 저널 기록을 replay 해 두 테이블을 다시 채운다.
+     * 내역은 기록 순서대로, 잔액은 유저별 최종값만 기록하며, balances 는 저널 끝 시점 잔액이 된다.
+     * (스냅샷은 loadLatest 가 저널 끝 이하로 고르므로 저널이 스냅샷보다 짧지 않다)
+     */
+    private void replayJournal(PointJournal opened, long snapshotSequence, Map<Long, Long> balances) {
+        opened.read(snapshotSequence, opened.lastSequence(), entry -> {
+            long delta = entry.type() == TransactionType.CHARGE ? entry.amount() : -entry.amount();
+            balances.merge(entry.userId(), delta, Long::sum);
+            if (rollups != null) {
+                rollups.record(entry.userId(), entry.amount(), entry.type(), entry.updateMillis());
+            }
+            if (columnarHistory != null) {
+                columnarHistory.insert(entry.userId(), entry.amount(), entry.type(), entry.updateMillis());
+            } else {
+                // 아직 조회된 유저가 없으므로 인덱스에는 유저만 등록된다 (전체 내보내기 대상)
+                historyIndex.append(pointHistoryTable.insert(entry.userId(), entry.amount(), entry.type(),
+                        entry.updateMillis()));
+            }
+        });
+        balances.forEach(userPointStore::insertOrUpdate);
+    }
+
+    private static ThreadPoolExecutor newExecutor(String namePrefix, int parallelism) {
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), task -> {
+            Thread thread = new Thread(task, namePrefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     private void validateAmount(long amount) {
@@ -75,8 +839,4 @@ public class PointService {
             throw new IllegalArgumentException("금액은 0보다 큰 정수여야 합니다.");
         }
     }
-
-    private boolean willOverflow(long a, long b) {
-        return (b > 0 && a > Long.MAX_VALUE - b) || (b < 0 && a < Long.MIN_VALUE - b);
-    }
-}
\ No newline at end of file
+}
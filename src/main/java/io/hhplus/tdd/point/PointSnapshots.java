@@ -0,0 +1,240 @@
+package io.hhplus.tdd.point;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 잔액 스냅샷 (체크포인트)
+ * - 저널 seq 까지 반영된 모든 유저의 잔액을 한 파일에 담는다. 시작 시 최신 스냅샷을 읽고 그 뒤 기록만 replay 한다.
+ * - 형식 : magic(4) version(4) sequence(8) count(4) [userId(8) balance(8)] × count crc32c(4), 파일 이름 = sequence
+ * - 체크포인트는 살아 있는 테이블이 아니라 저널을 직접 읽어 만든다.
+ *   직전 스냅샷의 잔액에 그 뒤 기록만 더하므로, 충전/사용은 체크포인트 동안에도 멈추지 않는다.
+ * - 스냅샷은 저널에서 디스크에 내려간 기록(durableSequence)까지만 담는다.
+ *   그래도 저널보다 앞선 스냅샷이 남아 있으면 시작 시 쓰지 않고 옆으로 치운 뒤 그 이전 스냅샷으로 복구한다.
+ * - 임시 파일에 쓰고 디스크에 내린 뒤 이름을 바꾸며, 최근 retained 개만 남긴다.
+ */
+final class PointSnapshots implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PointSnapshots.class);
+
+    private static final int MAGIC = 0x50534E50; // "PSNP"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 20;
+    private static final String SUFFIX = ".snapshot";
+
+    record Snapshot(long sequence, Map<Long, Long> balances) {
+        static final Snapshot EMPTY = new Snapshot(0, Map.of());
+    }
+
+    private final Path directory;
+    private final PointJournal journal;
+    private final int retained;
+    private final ScheduledExecutorService scheduler;
+
+    // 체크포인트 스레드(또는 수동 호출)만 접근, checkpointLock 으로 보호
+    private final ReentrantLock checkpointLock = new ReentrantLock();
+    private final Map<Long, Long> balances;
+    private long sequence;
+
+    /**
+     * @param balances 저널의 sequence 시점 잔액 (시작 시 스냅샷 + replay 결과, 이후 이 객체가 소유)
+     */
+    PointSnapshots(Path directory, PointJournal journal, long sequence, Map<Long, Long> balances,
+                   long intervalMillis, int retained) {
+        this.directory = directory;
+        this.journal = journal;
+        this.sequence = sequence;
+        this.balances = balances;
+        this.retained = Math.max(1, retained);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷 디렉터리를 만들 수 없습니다: " + directory, e);
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "point-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::checkpointQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 디렉터리에서 읽을 수 있고 seq 가 journalSequence 이하인 가장 최신 스냅샷 (없으면 EMPTY).
+     * journalSequence 보다 앞선 스냅샷은 저널에 없는 기록을 담고 있어, 이어 쓰는 기록과 seq 가 겹치지 않도록 .stale 로 치운다.
+     */
+    static Snapshot loadLatest(Path directory, long journalSequence) {
+        if (!Files.isDirectory(directory)) {
+            return Snapshot.EMPTY;
+        }
+        for (Path file : list(directory)) {
+            Snapshot snapshot;
+            try {
+                snapshot = read(file);
+            } catch (IOException | RuntimeException e) {
+                log.warn("스냅샷을 읽을 수 없어 이전 스냅샷을 사용합니다: {}", file, e);
+                continue;
+            }
+            if (snapshot.sequence() <= journalSequence) {
+                return snapshot;
+            }
+            log.warn("저널(seq={})보다 앞선 스냅샷이라 이전 스냅샷을 사용합니다: {}", journalSequence, file);
+            try {
+                Files.move(file, file.resolveSibling(file.getFileName() + ".stale"), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                throw new UncheckedIOException("저널보다 앞선 스냅샷을 치울 수 없습니다: " + file, e);
+            }
+        }
+        return Snapshot.EMPTY;
+    }
+
+    /**
+     * 마지막 체크포인트 이후 디스크에 내려간 저널 기록을 반영해 새 스냅샷을 쓴다. 반환값은 스냅샷에 담긴 seq.
+     */
+    long checkpoint() {
+        checkpointLock.lock();
+        try {
+            long upTo = Math.max(sequence, journal.durableSequence());
+            if (upTo == sequence && Files.exists(directory.resolve(fileName(sequence)))) {
+                return sequence;
+            }
+            journal.read(sequence, upTo, entry -> {
+                long delta = entry.type() == TransactionType.CHARGE ? entry.amount() : -entry.amount();
+                balances.merge(entry.userId(), delta, Long::sum);
+            });
+            sequence = upTo;
+            write(sequence);
+            prune();
+            return sequence;
+        } finally {
+            checkpointLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (RuntimeException e) {
+            log.error("스냅샷 생성 실패", e);
+        }
+    }
+
+    private void write(long snapshotSequence) {
+        Path target = directory.resolve(fileName(snapshotSequence));
+        Path temp = directory.resolve(fileName(snapshotSequence) + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temp.toFile())) {
+            CRC32C checksum = new CRC32C();
+            DataOutputStream out = new DataOutputStream(
+                    new CheckedOutputStream(new BufferedOutputStream(file, 1 << 16), checksum));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(snapshotSequence);
+            out.writeInt(balances.size());
+            for (Map.Entry<Long, Long> balance : balances.entrySet()) {
+                out.writeLong(balance.getKey());
+                out.writeLong(balance.getValue());
+            }
+            out.flush();
+            // crc 는 체크섬 대상이 아니므로 스트림 밖에서 쓴다
+            DataOutputStream trailer = new DataOutputStream(file);
+            trailer.writeInt((int) checksum.getValue());
+            trailer.flush();
+            file.getFD().sync();
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷을 쓸 수 없습니다: " + target, e);
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷을 저장할 수 없습니다: " + target, e);
+        }
+    }
+
+    private static Snapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + 4) {
+                throw new IOException("스냅샷 크기가 너무 작습니다: " + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("스냅샷 형식이 아닙니다");
+            }
+            long snapshotSequence = buffer.getLong(8);
+            int count = buffer.getInt(16);
+            if (size != HEADER_BYTES + 16L * count + 4) {
+                throw new IOException("스냅샷 크기가 맞지 않습니다: " + size);
+            }
+            CRC32C checksum = new CRC32C();
+            checksum.update(buffer.slice(0, (int) size - 4));
+            if ((int) checksum.getValue() != buffer.getInt((int) size - 4)) {
+                throw new IOException("스냅샷 체크섬이 맞지 않습니다");
+            }
+            Map<Long, Long> balances = new HashMap<>(Math.max(16, (int) (count / 0.75f) + 1));
+            for (int i = 0; i < count; i++) {
+                int offset = HEADER_BYTES + i * 16;
+                balances.put(buffer.getLong(offset), buffer.getLong(offset + 8));
+            }
+            return new Snapshot(snapshotSequence, balances);
+        }
+    }
+
+    private void prune() {
+        List<Path> files = list(directory);
+        for (int i = retained; i < files.size(); i++) {
+            try {
+                Files.deleteIfExists(files.get(i));
+            } catch (IOException e) {
+                log.warn("오래된 스냅샷을 지울 수 없습니다: {}", files.get(i), e);
+            }
+        }
+    }
+
+    // 최신 순
+    private static List<Path> list(Path directory) {
+        try (Stream<Path> listing = Files.list(directory)) {
+            return listing.filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparing((Path path) -> path.getFileName().toString()).reversed())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷 목록을 읽을 수 없습니다: " + directory, e);
+        }
+    }
+
+    private static String fileName(long snapshotSequence) {
+        return String.format("%020d%s", snapshotSequence, SUFFIX);
+    }
+}
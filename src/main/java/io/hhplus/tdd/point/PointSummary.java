@@ -0,0 +1,39 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 기간별 충전/사용 요약 (GET /point/{id}/summary)
+ * - fromMillis / toMillis : 실제 집계 구간 [fromMillis, toMillis), 요청 값을 단위 경계로 넓힌 값
+ * - buckets : 단위(시간/일)별 합계, 내역이 있는 구간만 시작 시각 순으로
+ */
+public record PointSummary(
+        long userId,
+        Granularity granularity,
+        long fromMillis,
+        long toMillis,
+        long chargedAmount,
+        long usedAmount,
+        long chargeCount,
+        long useCount,
+        List<Bucket> buckets
+) {
+
+    public enum Granularity {
+        HOUR, DAY
+    }
+
+    public record Bucket(long startMillis, long chargedAmount, long usedAmount, long chargeCount, long useCount) {
+
+        static Bucket of(long startMillis, TransactionType type, long amount) {
+            return type == TransactionType.CHARGE
+                    ? new Bucket(startMillis, amount, 0, 1, 0)
+                    : new Bucket(startMillis, 0, amount, 0, 1);
+        }
+
+        Bucket plus(Bucket other) {
+            return new Bucket(startMillis, chargedAmount + other.chargedAmount, usedAmount + other.usedAmount,
+                    chargeCount + other.chargeCount, useCount + other.useCount);
+        }
+    }
+}
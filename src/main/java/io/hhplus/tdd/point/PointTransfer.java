@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 이체 결과 : 반영 직후 보낸 유저와 받은 유저의 잔액
+ */
+public record PointTransfer(
+        UserPoint from,
+        UserPoint to
+) {
+}
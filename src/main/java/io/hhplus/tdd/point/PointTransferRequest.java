@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 이체 요청 (POST /point/transfer)
+ */
+public record PointTransferRequest(
+        long fromId,
+        long toId,
+        long amount
+) {
+}
@@ -0,0 +1,96 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * PointController 와 같은 경로/응답/오류의 논블로킹 버전 (point.reactive.enabled)
+ * - 요청 스레드는 Mono/Flux 를 돌려주고 바로 반환되며, 결과가 나오면 비동기로 응답한다.
+ * - 요청 값 검증은 PointController 와 같은 규칙/메시지를 쓴다.
+ */
+@RestController
+@RequestMapping("/point")
+@ConditionalOnProperty(prefix = "point.reactive", name = "enabled", havingValue = "true")
+public class ReactivePointController {
+
+    private final ReactivePointService pointService;
+
+    public ReactivePointController(ReactivePointService pointService) {
+        this.pointService = pointService;
+    }
+
+    @GetMapping("/{id}")
+    public Mono<UserPoint> getPoint(@PathVariable long id) {
+        return pointService.get(id);
+    }
+
+    @GetMapping
+    public Flux<UserPoint> getPoints(@RequestParam List<Long> ids) {
+        return pointService.getAll(ids);
+    }
+
+    @GetMapping("/hot-users")
+    public Flux<HotUser> hotUsers() {
+        return pointService.hotUsers();
+    }
+
+    // 조건이 하나도 없으면 전체 내역, 있으면 조건에 맞는 한 페이지 + 다음 커서(X-Next-Cursor 헤더)
+    @GetMapping("/{id}/histories")
+    public Mono<ResponseEntity<List<PointHistory>>> getHistories(@PathVariable long id,
+                                                                 @RequestParam(required = false) Integer limit,
+                                                                 @RequestParam(required = false) Long cursor,
+                                                                 @RequestParam(required = false) Long from,
+                                                                 @RequestParam(required = false) Long to,
+                                                                 @RequestParam(required = false) TransactionType type) {
+        if (limit == null && cursor == null && from == null && to == null && type == null) {
+            return pointService.histories(id).collectList().map(ResponseEntity::ok);
+        }
+        PointHistoryQuery query = PointHistoryQuery.of(cursor, from, to, type, limit);
+        return pointService.histories(id, query).map(page -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                response.header(PointController.NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+            }
+            return response.body(page.items());
+        });
+    }
+
+    @GetMapping("/{id}/summary")
+    public Mono<PointSummary> getSummary(@PathVariable long id,
+                                         @RequestParam(defaultValue = "DAY") PointSummary.Granularity bucket,
+                                         @RequestParam(required = false) Long from,
+                                         @RequestParam(required = false) Long to) {
+        return pointService.summary(id, bucket, from, to);
+    }
+
+    @PatchMapping("/{id}/charge")
+    public Mono<UserPoint> charge(@PathVariable long id, @RequestBody(required = false) String body,
+                                  @RequestHeader(value = PointController.IDEMPOTENCY_KEY_HEADER, required = false)
+                                  String idempotencyKey) {
+        long amount = PointController.requireAmount(body);
+        return pointService.charge(id, amount, PointController.validateIdempotencyKey(idempotencyKey));
+    }
+
+    @PatchMapping("/{id}/use")
+    public Mono<UserPoint> use(@PathVariable long id, @RequestBody(required = false) String body,
+                               @RequestHeader(value = PointController.IDEMPOTENCY_KEY_HEADER, required = false)
+                               String idempotencyKey) {
+        long amount = PointController.requireAmount(body);
+        return pointService.use(id, amount, PointController.validateIdempotencyKey(idempotencyKey));
+    }
+
+    @PostMapping("/transfer")
+    public Mono<PointTransfer> transfer(@RequestBody PointTransferRequest request) {
+        return pointService.transfer(request.fromId(), request.toId(), request.amount());
+    }
+
+    @PostMapping("/batch")
+    public Flux<PointCommandResponse> batch(@RequestBody List<PointCommand> commands) {
+        return pointService.applyAll(commands).map(PointCommandResponse::from);
+    }
+}
@@ -0,0 +1,98 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * PointService 의 논블로킹(Mono/Flux) 버전 (point.reactive.enabled)
+ * - 테이블 지연이 있는 PointService 호출은 크기가 정해진 스케줄러(point.reactive.blocking-threads)에서만 실행한다.
+ * - 충전/사용은 유저별로 요청 순서대로 이어 붙여 실행하므로, 같은 유저 요청이 유저 락 앞에서 스레드를 잡고 기다리지 않는다.
+ * - 스케줄러 대기열(point.reactive.queued-tasks)이 가득 차면 409 로 거절한다.
+ * - 오류는 PointService 와 같은 예외로 전달되어 GlobalPointExceptionHandler 가 같은 상태/메시지로 변환한다.
+ */
+@Service
+@ConditionalOnProperty(prefix = "point.reactive", name = "enabled", havingValue = "true")
+public class ReactivePointService {
+
+    static final String OVERLOADED_MESSAGE = "요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.";
+
+    private final PointService pointService;
+    private final Scheduler blocking;
+    private final UserSequencer sequencer;
+
+    public ReactivePointService(PointService pointService, PointProperties properties) {
+        this.pointService = pointService;
+        PointProperties.Reactive reactive = properties.getReactive();
+        this.blocking = Schedulers.newBoundedElastic(reactive.getBlockingThreads(), reactive.getQueuedTasks(),
+                "point-blocking");
+        this.sequencer = new UserSequencer(task -> blocking.schedule(task));
+    }
+
+    @PreDestroy
+    public void close() {
+        blocking.dispose();
+    }
+
+    public Mono<UserPoint> get(long userId) {
+        return onBlocking(() -> pointService.get(userId));
+    }
+
+    public Flux<UserPoint> getAll(List<Long> userIds) {
+        return onBlocking(() -> pointService.getAll(userIds)).flatMapIterable(points -> points);
+    }
+
+    public Flux<PointHistory> histories(long userId) {
+        return onBlocking(() -> pointService.histories(userId)).flatMapIterable(histories -> histories);
+    }
+
+    public Mono<PointHistoryPage> histories(long userId, PointHistoryQuery query) {
+        return onBlocking(() -> pointService.histories(userId, query));
+    }
+
+    public Mono<PointSummary> summary(long userId, PointSummary.Granularity granularity, Long from, Long to) {
+        return onBlocking(() -> pointService.summary(userId, granularity, from, to));
+    }
+
+    public Flux<HotUser> hotUsers() {
+        return Flux.defer(() -> Flux.fromIterable(pointService.hotUsers()));
+    }
+
+    public Mono<UserPoint> charge(long userId, long amount, String idempotencyKey) {
+        return inOrder(userId, () -> pointService.charge(userId, amount, idempotencyKey));
+    }
+
+    public Mono<UserPoint> use(long userId, long amount, String idempotencyKey) {
+        return inOrder(userId, () -> pointService.use(userId, amount, idempotencyKey));
+    }
+
+    // 두 유저에 걸치므로 유저별 대기열 대신 PointService 의 순서 있는 두 락으로 직렬화한다
+    public Mono<PointTransfer> transfer(long fromId, long toId, long amount) {
+        return onBlocking(() -> pointService.transfer(fromId, toId, amount));
+    }
+
+    // 유저별 순서는 PointService.applyAll 이 유저 락으로 보장한다
+    public Flux<PointCommandResult> applyAll(List<PointCommand> commands) {
+        return onBlocking(() -> pointService.applyAll(commands)).flatMapIterable(results -> results);
+    }
+
+    private <T> Mono<T> onBlocking(Callable<T> call) {
+        return Mono.fromCallable(call)
+                .subscribeOn(blocking)
+                .onErrorMap(RejectedExecutionException.class, e -> new IllegalStateException(OVERLOADED_MESSAGE, e));
+    }
+
+    // 구독 시점에 유저의 대기열 끝에 붙는다
+    private Mono<UserPoint> inOrder(long userId, Callable<UserPoint> call) {
+        return Mono.fromFuture(() -> sequencer.submit(userId, call))
+                .onErrorMap(RejectedExecutionException.class, e -> new IllegalStateException(OVERLOADED_MESSAGE, e));
+    }
+}
@@ -0,0 +1,112 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 참조 카운트 기반 유저 락
+ * - lock 시 참조를 올리고 unlock 시 내리며, 0 이 되면 맵에서 제거한다.
+ * - 참조 증감은 ConcurrentHashMap.compute 안에서 일어나 제거와 재사용이 엇갈리지 않는다.
+ */
+class RefCountedUserLocks implements UserLocks {
+
+    private static final class Entry {
+        final ReentrantLock lock = new ReentrantLock();
+        int refs;
+    }
+
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public Lock lockFor(long userId) {
+        return new Handle(userId);
+    }
+
+    @Override
+    public int retainedLocks() {
+        return entries.size();
+    }
+
+    private Entry acquire(long userId) {
+        return entries.compute(userId, (id, entry) -> {
+            Entry e = entry == null ? new Entry() : entry;
+            e.refs++;
+            return e;
+        });
+    }
+
+    private void release(long userId) {
+        entries.computeIfPresent(userId, (id, entry) -> --entry.refs == 0 ? null : entry);
+    }
+
+    /**
+     * lock → unlock 한 번을 위한 일회용 핸들
+     */
+    private final class Handle implements Lock {
+        private final long userId;
+        private Entry entry;
+
+        private Handle(long userId) {
+            this.userId = userId;
+        }
+
+        @Override
+        public void lock() {
+            entry = acquire(userId);
+            entry.lock.lock();
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            entry = acquire(userId);
+            try {
+                entry.lock.lockInterruptibly();
+            } catch (InterruptedException e) {
+                release(userId);
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean tryLock() {
+            entry = acquire(userId);
+            if (entry.lock.tryLock()) {
+                return true;
+            }
+            release(userId);
+            return false;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            entry = acquire(userId);
+            boolean locked = false;
+            try {
+                locked = entry.lock.tryLock(time, unit);
+                return locked;
+            } finally {
+                if (!locked) {
+                    release(userId);
+                }
+            }
+        }
+
+        @Override
+        public void unlock() {
+            entry.lock.unlock();
+            release(userId);
+        }
+
+        // 락을 잡고 있는 동안은 참조가 남아 있어 entry 가 맵에서 빠지지 않으므로, 실제 락의 조건을 그대로 쓴다
+        @Override
+        public Condition newCondition() {
+            if (entry == null) {
+                throw new IllegalMonitorStateException("락을 잡은 뒤에만 조건을 만들 수 있습니다.");
+            }
+            return entry.lock.newCondition();
+        }
+    }
+}
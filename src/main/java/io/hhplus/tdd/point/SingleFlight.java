@@ -0,0 +1,48 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 유저의 동시 잔액 조회 합치기 (single-flight)
+ * - 진행 중인 조회가 있으면 새로 읽지 않고 그 결과를 함께 받는다. 끝난 조회는 바로 지워 다음 조회는 새로 읽는다.
+ * - 잔액이 바뀌면 forget 으로 진행 중인 조회를 떼어 내, 변경 이후에 들어온 조회가 변경 전 값을 받지 않게 한다.
+ */
+class SingleFlight {
+
+    private final ConcurrentHashMap<Long, CompletableFuture<UserPoint>> inFlight = new ConcurrentHashMap<>();
+
+    UserPoint load(long userId, Supplier<UserPoint> loader) {
+        CompletableFuture<UserPoint> mine = new CompletableFuture<>();
+        CompletableFuture<UserPoint> existing = inFlight.putIfAbsent(userId, mine);
+        if (existing != null) {
+            return join(existing);
+        }
+        try {
+            mine.complete(loader.get());
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+        } finally {
+            inFlight.remove(userId, mine);
+        }
+        return join(mine);
+    }
+
+    // 잔액을 기록한 뒤 호출 (이미 합류한 조회는 그대로 진행 중인 결과를 받는다)
+    void forget(long userId) {
+        inFlight.remove(userId);
+    }
+
+    private static UserPoint join(CompletableFuture<UserPoint> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 고정 크기 락 스트라이프
+ * - 유저 수와 무관하게 락 개수가 고정되고, 비공정 락이라 경합 시 처리량이 높다.
+ * - 같은 스트라이프에 걸린 서로 다른 유저는 서로를 기다릴 수 있다.
+ */
+class StripedUserLocks implements UserLocks {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    StripedUserLocks(int stripeCount) {
+        int size = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public Lock lockFor(long userId) {
+        return stripes[indexOf(userId)];
+    }
+
+    @Override
+    public int retainedLocks() {
+        return stripes.length;
+    }
+
+    // 서로 다른 유저가 같은 스트라이프를 쓰므로, 유저 id 가 아니라 스트라이프 순서로 잡아야 교착이 없다
+    @Override
+    public long orderKey(long userId) {
+        return indexOf(userId);
+    }
+
+    int indexOf(long userId) {
+        // 연속된 id 가 고르게 퍼지도록 섞는다
+        long h = userId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
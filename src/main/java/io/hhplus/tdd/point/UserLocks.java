@@ -0,0 +1,37 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 유저 단위 직렬화에 쓰는 락 제공 전략 (point.lock.strategy)
+ * - FAIR : 유저마다 공정 ReentrantLock 을 만들어 계속 보관 (기존 방식, 유저 수만큼 락이 쌓인다)
+ * - STRIPED : 고정 개수의 락 배열에 유저를 해시로 나눠 담는다 (메모리 고정, 다른 유저끼리 락을 공유할 수 있음)
+ * - REF_COUNTED : 사용 중인 유저의 락만 보관하고, 아무도 쓰지 않으면 제거한다
+ *
+ * lockFor 가 돌려준 락은 lock → unlock 을 한 번만 수행하는 용도로 쓴다.
+ * 모든 전략은 synchronized 대신 j.u.c 락으로 대기하므로, 가상 스레드 모드에서도 carrier 스레드를 붙잡지(pinning) 않는다.
+ */
+public interface UserLocks {
+
+    enum Strategy {
+        FAIR, STRIPED, REF_COUNTED
+    }
+
+    Lock lockFor(long userId);
+
+    // 현재 보관 중인 락 객체 수 (진단용)
+    int retainedLocks();
+
+    // 두 유저의 락을 함께 잡을 때 쓰는 전역 순서 (작은 쪽부터 잡는다), 값이 같으면 같은 락이다
+    default long orderKey(long userId) {
+        return userId;
+    }
+
+    static UserLocks create(Strategy strategy, int stripes) {
+        return switch (strategy) {
+            case FAIR -> new FairUserLocks();
+            case STRIPED -> new StripedUserLocks(stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors() * 4);
+            case REF_COUNTED -> new RefCountedUserLocks();
+        };
+    }
+}
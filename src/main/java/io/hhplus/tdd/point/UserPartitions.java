@@ -0,0 +1,161 @@
+package io.hhplus.tdd.point;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * 유저 파티션별 단일 writer (point.partitioned.enabled)
+ * - 유저 id 를 파티션으로 나누고, 파티션마다 크기 제한 큐 + 전용 worker 스레드 하나를 둔다.
+ * - 한 유저의 명령은 항상 같은 worker 가 들어온 순서대로 실행하므로, 유저 락 없이 직렬화된다.
+ * - 명령은 future 로 완료되고, 큐가 가득 차면 submit 이 빈자리가 날 때까지 기다린다 (backpressure).
+ * - worker 는 큐에 쌓인 명령을 한 번에 꺼내(drainTo) 실행해, 명령마다 큐 락을 주고받지 않는다.
+ */
+final class UserPartitions {
+
+    private static final Logger log = LoggerFactory.getLogger(UserPartitions.class);
+
+    private static final int DRAIN_MAX = 256;
+
+    private final Partition[] partitions;
+
+    UserPartitions(int partitionCount, int queueCapacity) {
+        this.partitions = new Partition[Math.max(1, partitionCount)];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition(i, Math.max(1, queueCapacity));
+        }
+    }
+
+    <T> CompletableFuture<T> submit(long userId, Supplier<T> command) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        partitionFor(userId).put(() -> {
+            try {
+                result.complete(command.get());
+            } catch (Throwable e) {
+                // Error 도 future 로 넘겨, 기다리는 호출자가 멈춰 있지 않게 한다
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    // 결과를 기다린다, 유저의 worker 자신이 부르면 바로 실행한다 (자기 큐를 기다리지 않도록)
+    <T> T call(long userId, Supplier<T> command) {
+        Partition partition = partitionFor(userId);
+        if (Thread.currentThread() == partition.thread) {
+            return command.get();
+        }
+        try {
+            return submit(userId, command).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    int size() {
+        return partitions.length;
+    }
+
+    // 남은 명령을 모두 처리한 뒤 worker 를 멈춘다
+    void close() {
+        for (Partition partition : partitions) {
+            partition.stop();
+        }
+        for (Partition partition : partitions) {
+            try {
+                partition.thread.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private Partition partitionFor(long userId) {
+        return partitions[Math.floorMod(Long.hashCode(userId), partitions.length)];
+    }
+
+    private static final class Partition implements Runnable {
+        private final BlockingQueue<Runnable> queue;
+        private final Thread thread;
+        private volatile boolean running = true;
+        // put 은 read lock, stop 은 write lock 안에서 running 을 보고/바꿔, 멈춘 뒤에는 큐에 새 명령이 들어가지 않는다
+        private final ReadWriteLock accepting = new ReentrantReadWriteLock();
+
+        private Partition(int index, int capacity) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.thread = new Thread(this, "point-partition-" + index);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        private void put(Runnable command) {
+            Lock lock = accepting.readLock();
+            lock.lock();
+            try {
+                if (!running) {
+                    throw new IllegalStateException("파티션 worker 가 종료되었습니다.");
+                }
+                queue.put(command);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("파티션 대기 중 중단되었습니다.", e);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void stop() {
+            Lock lock = accepting.writeLock();
+            lock.lock();
+            try {
+                running = false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            List<Runnable> batch = new ArrayList<>(DRAIN_MAX);
+            while (running || !queue.isEmpty()) {
+                Runnable first;
+                try {
+                    first = queue.poll(100, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    continue;
+                }
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, DRAIN_MAX - 1);
+                for (Runnable command : batch) {
+                    try {
+                        command.run();
+                    } catch (RuntimeException e) {
+                        log.error("point partition command failed", e);
+                    }
+                }
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package io.hhplus.tdd.point;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 잔액 캐시 (크기 제한 + LRU 제거)
+ * - 세그먼트별 access-order LinkedHashMap 을 각자의 락으로 보호해 전역 경합을 피한다.
+ * - 채우기/갱신은 PointService 가 유저 락을 잡은 상태에서만 하므로 오래된 값이 덮어쓰지 않는다.
+ */
+public final class UserPointCache {
+
+    public record Stats(long hits, long misses, long evictions, long size) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    private final Segment[] segments;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserPointCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("캐시 크기는 0보다 커야 합니다.");
+        }
+        // 세그먼트 수는 2의 거듭제곱, 세그먼트당 최소 16칸
+        int count = Integer.highestOneBit(Math.max(1, Math.min(16, maximumSize / 16)));
+        this.segments = new Segment[count];
+        this.mask = count - 1;
+        int perSegment = Math.max(1, maximumSize / count);
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    // 조회 (히트/미스 집계)
+    public UserPoint get(long userId) {
+        UserPoint cached = peek(userId);
+        if (cached != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return cached;
+    }
+
+    // 집계 없이 조회 (락 안에서의 재확인용)
+    UserPoint peek(long userId) {
+        Segment segment = segmentFor(userId);
+        segment.lock.lock();
+        try {
+            return segment.get(userId);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    void put(UserPoint userPoint) {
+        if (userPoint == null) {
+            return;
+        }
+        Segment segment = segmentFor(userPoint.id());
+        segment.lock.lock();
+        try {
+            segment.put(userPoint.id(), userPoint);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public Stats stats() {
+        long size = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private Segment segmentFor(long userId) {
+        int h = Long.hashCode(userId);
+        return segments[(h ^ (h >>> 16)) & mask];
+    }
+
+    private final class Segment extends LinkedHashMap<Long, UserPoint> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, UserPoint> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+
+/**
+ * PointService 가 잔액을 읽고 쓰는 저장소 (point.store.balance)
+ * - TABLE : 기존 UserPointTable 을 그대로 사용 (기본)
+ * - OFF_HEAP : (id, point, updateMillis) 를 힙 밖 open addressing 배열에 보관하고, UserPoint 는 돌려줄 때만 만든다
+ *
+ * 같은 유저에 대한 쓰기는 PointService 가 유저 락으로 직렬화하지만, 서로 다른 유저의 읽기/쓰기는 동시에 들어온다.
+ */
+public interface UserPointStore {
+
+    enum Type {
+        TABLE, OFF_HEAP
+    }
+
+    UserPoint selectById(long id);
+
+    UserPoint insertOrUpdate(long id, long amount);
+
+    // 힙 밖에 잡아 둔 바이트 수 (진단용)
+    default long offHeapBytes() {
+        return 0;
+    }
+
+    static UserPointStore create(Type type, UserPointTable table, int initialCapacity) {
+        return switch (type) {
+            case TABLE -> of(table);
+            case OFF_HEAP -> new OffHeapUserPointStore(initialCapacity);
+        };
+    }
+
+    static UserPointStore of(UserPointTable table) {
+        return new UserPointStore() {
+            @Override
+            public UserPoint selectById(long id) {
+                return table.selectById(id);
+            }
+
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                return table.insertOrUpdate(id, amount);
+            }
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 유저별 작업 순서 보장 (스레드를 막는 락 없이)
+ * - 같은 유저의 작업은 등록 순서대로 하나씩 실행한다. 앞 작업이 끝나면 그 완료 콜백이 다음 작업을 executor 에 넘긴다.
+ * - 순서를 기다리는 작업은 스레드를 잡지 않고 콜백으로만 남으므로, 한 유저에 몰려도 다른 유저의 작업이 밀리지 않는다.
+ * - 유저의 마지막 작업이 끝나면 항목을 지워, 맵에는 작업이 남아 있는 유저만 있다.
+ */
+final class UserSequencer {
+
+    private final ConcurrentHashMap<Long, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private final Executor executor;
+
+    UserSequencer(Executor executor) {
+        this.executor = executor;
+    }
+
+    // executor 가 작업을 받지 못하면(RejectedExecutionException) 그 예외로 끝나고, 다음 작업은 이어서 실행된다
+    <T> CompletableFuture<T> submit(long userId, Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        CompletableFuture<Void> previous = tails.put(userId, done);
+        Runnable run = () -> {
+            try {
+                result.complete(task.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            } finally {
+                finish(userId, done);
+            }
+        };
+        Runnable dispatch = () -> {
+            try {
+                executor.execute(run);
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(e);
+                finish(userId, done);
+            }
+        };
+        if (previous == null) {
+            dispatch.run();
+        } else {
+            previous.whenComplete((ignored, error) -> dispatch.run());
+        }
+        return result;
+    }
+
+    // 작업이 남아 있는 유저 수
+    int pendingUsers() {
+        return tails.size();
+    }
+
+    private void finish(long userId, CompletableFuture<Void> done) {
+        tails.remove(userId, done);
+        done.complete(null);
+    }
+}
@@ -0,0 +1,76 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.HotUser;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.support.FixedLatencyPointHistoryTable;
+import io.hhplus.tdd.support.FixedLatencyUserPointTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotUserDetectionTest {
+
+    private FixedLatencyUserPointTable userTable;
+    private PointService service;
+
+    @BeforeEach
+    void setUp() {
+        userTable = new FixedLatencyUserPointTable(2, 2);
+        PointProperties properties = new PointProperties();
+        properties.getHotUser().setEnabled(true);
+        properties.getHotUser().setWindowMillis(200);
+        properties.getHotUser().setQueueThreshold(4);
+        service = new PointService(userTable, new FixedLatencyPointHistoryTable(0), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    @Test
+    @DisplayName("hot user: 한 유저에 요청이 몰리면 hot 으로 표시되고 배치 경로로 처리되며, 잠잠해지면 해제된다")
+    void 경합_유저_감지_후_해제() throws InterruptedException {
+        int requests = 400;
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        for (int i = 0; i < requests; i++) {
+            pool.submit(() -> service.charge(1L, 1));
+        }
+        pool.shutdown();
+
+        Set<Long> seenHot = new HashSet<>();
+        while (!pool.awaitTermination(20, TimeUnit.MILLISECONDS)) {
+            service.hotUsers().stream().map(HotUser::userId).forEach(seenHot::add);
+        }
+
+        assertThat(seenHot).containsExactly(1L);
+        assertThat(service.get(1L).point()).isEqualTo(requests);
+        // 요청마다 갱신했다면 400번, 배치 경로로 넘어간 뒤에는 대기 요청이 한 번에 반영된다
+        assertThat(userTable.updateCount.get()).isLessThan(requests / 2);
+
+        // 윈도 두 개 이상 조용하면 해제
+        Thread.sleep(600);
+        assertThat(service.hotUsers()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("hot user: 경합 없는 유저는 표시되지 않고 요청마다 그대로 반영된다")
+    void 경합없는_유저_미표시() {
+        for (int i = 0; i < 20; i++) {
+            service.charge(2L, 10);
+        }
+
+        assertThat(service.hotUsers()).isEmpty();
+        assertThat(userTable.updateCount.get()).isEqualTo(20);
+    }
+}
@@ -0,0 +1,142 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.support.FixedLatencyPointHistoryTable;
+import io.hhplus.tdd.support.FixedLatencyUserPointTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class PointAsyncHistoryTest {
+
+    private FixedLatencyPointHistoryTable historyTable;
+    private PointService service;
+
+    @BeforeEach
+    void setUp() {
+        historyTable = new FixedLatencyPointHistoryTable(20);
+        PointProperties properties = new PointProperties();
+        properties.getAsyncHistory().setEnabled(true);
+        properties.getAsyncHistory().setPartitions(4);
+        properties.getAsyncHistory().setQueueCapacity(8);
+        service = new PointService(new FixedLatencyUserPointTable(0, 0), historyTable, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    @Test
+    @DisplayName("비동기 내역: 충전은 내역 기록을 기다리지 않고, 조회 시에는 커밋된 내역이 모두 보인다")
+    void 충전후_내역조회_읽기일관성() {
+        long begin = System.nanoTime();
+        for (int i = 1; i <= 10; i++) {
+            service.charge(1L, i);
+        }
+        long chargeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+
+        List<PointHistory> histories = service.histories(1L);
+
+        // 동기 기록이라면 최소 10 × 20ms
+        assertThat(chargeMillis).isLessThan(200);
+        assertThat(histories).extracting(PointHistory::amount)
+                .containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        assertThat(histories).isEqualTo(historyTable.selectAllByUserId(1L));
+    }
+
+    @Test
+    @DisplayName("비동기 내역: 여러 유저가 동시에 대기열을 넘치게 채워도 flush 후 모든 내역이 유저별 순서대로 남는다")
+    void 대기열_초과_후_flush() throws InterruptedException {
+        int users = 8;
+        int perUser = 20;
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        for (long userId = 0; userId < users; userId++) {
+            long id = userId;
+            pool.submit(() -> {
+                for (int i = 1; i <= perUser; i++) {
+                    service.charge(id, i);
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        service.flushHistories();
+
+        assertThat(historyTable.insertCount.get()).isEqualTo(users * perUser);
+        for (long userId = 0; userId < users; userId++) {
+            assertThat(historyTable.selectAllByUserId(userId))
+                    .extracting(PointHistory::amount)
+                    .isSorted()
+                    .hasSize(perUser);
+            assertThat(service.get(userId).point()).isEqualTo(perUser * (perUser + 1) / 2);
+        }
+    }
+
+    @Test
+    @DisplayName("비동기 내역: 충전이 진행 중일 때 종료해도, 성공한 충전의 내역은 하나도 빠지지 않는다")
+    void 종료_중_충전() throws InterruptedException {
+        int users = 8;
+        AtomicInteger succeeded = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        for (long userId = 0; userId < users; userId++) {
+            long id = userId;
+            pool.submit(() -> {
+                try {
+                    while (true) {
+                        service.charge(id, 1);
+                        succeeded.incrementAndGet();
+                    }
+                } catch (IllegalStateException closed) {
+                    // 종료 뒤의 충전은 거절된다
+                }
+            });
+        }
+        TimeUnit.MILLISECONDS.sleep(100);
+        service.close();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(historyTable.insertCount.get()).isEqualTo(succeeded.get());
+        // 거절된 충전은 잔액도 바꾸지 않는다
+        for (long userId = 0; userId < users; userId++) {
+            long recorded = historyTable.selectAllByUserId(userId).stream().mapToLong(PointHistory::amount).sum();
+            assertThat(service.get(userId).point()).isEqualTo(recorded);
+        }
+    }
+
+    @Test
+    @DisplayName("비동기 내역: 내역 인덱스를 채우다 Error 가 나도 조회하는 쪽은 기다리지 않고 그 Error 를 받는다")
+    void 인덱스_채우기_Error_전파() {
+        FixedLatencyPointHistoryTable failing = new FixedLatencyPointHistoryTable(0) {
+            @Override
+            public List<PointHistory> selectAllByUserId(long userId) {
+                throw new AssertionError("table down");
+            }
+        };
+        PointProperties properties = new PointProperties();
+        properties.getAsyncHistory().setEnabled(true);
+        PointService failingService = new PointService(new FixedLatencyUserPointTable(0, 0), failing, properties);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                assertThatThrownBy(() -> failingService.histories(1L))
+                        .isInstanceOf(AssertionError.class)
+                        .hasMessage("table down"));
+        failingService.close();
+    }
+}
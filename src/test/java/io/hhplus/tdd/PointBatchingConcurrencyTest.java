@@ -0,0 +1,136 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.support.FixedLatencyPointHistoryTable;
+import io.hhplus.tdd.support.FixedLatencyUserPointTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointBatchingConcurrencyTest {
+
+    private static final long USER_ID = 1L;
+    private static final int REQUESTS = 120;
+
+    private PointService newService(FixedLatencyUserPointTable userPointTable,
+                                    FixedLatencyPointHistoryTable historyTable,
+                                    boolean batching) {
+        PointProperties properties = new PointProperties();
+        properties.getBatching().setEnabled(batching);
+        return new PointService(userPointTable, historyTable, properties);
+    }
+
+    // 동시에 출발시키고 전체 소요 시간(ms)을 반환
+    private long runConcurrent(int n, Callable<?> task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(n);
+        CountDownLatch ready = new CountDownLatch(n);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < n; i++) {
+            futures.add(pool.submit(() -> {
+                ready.countDown();
+                start.await();
+                return task.call();
+            }));
+        }
+        ready.await();
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException ignored) {
+                // 개별 실패는 각 테스트에서 결과로 검증
+            }
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+        pool.shutdown();
+        return elapsed;
+    }
+
+    @Test
+    @DisplayName("배치 모드: 한 유저에 100건 이상 동시 충전해도 정확히 누적되고 잔액 기록 횟수는 줄어든다")
+    void 배치모드_동시충전_정확히_누적() throws Exception {
+        FixedLatencyUserPointTable userPointTable = new FixedLatencyUserPointTable(5, 5);
+        FixedLatencyPointHistoryTable historyTable = new FixedLatencyPointHistoryTable(1);
+        PointService service = newService(userPointTable, historyTable, true);
+
+        long amount = 10;
+        runConcurrent(REQUESTS, () -> service.charge(USER_ID, amount));
+
+        assertThat(service.get(USER_ID).point()).isEqualTo(REQUESTS * amount);
+        assertThat(historyTable.selectAllByUserId(USER_ID)).hasSize(REQUESTS);
+        assertThat(userPointTable.updateCount.get()).isLessThan(REQUESTS);
+    }
+
+    @Test
+    @DisplayName("배치 모드: 각 요청은 자신이 반영된 직후의 잔액을 개별로 돌려받는다")
+    void 배치모드_요청별_결과() throws Exception {
+        FixedLatencyUserPointTable userPointTable = new FixedLatencyUserPointTable(5, 5);
+        FixedLatencyPointHistoryTable historyTable = new FixedLatencyPointHistoryTable(1);
+        PointService service = newService(userPointTable, historyTable, true);
+
+        long amount = 10;
+        Set<Long> results = ConcurrentHashMap.newKeySet();
+        runConcurrent(REQUESTS, () -> results.add(service.charge(USER_ID, amount).point()));
+
+        // 10, 20, ..., 1200 이 정확히 한 번씩
+        assertThat(results).hasSize(REQUESTS);
+        assertThat(results).allMatch(point -> point % amount == 0 && point > 0 && point <= REQUESTS * amount);
+    }
+
+    @Test
+    @DisplayName("배치 모드: 잔액 부족 요청만 실패하고 나머지는 반영된다")
+    void 배치모드_잔액부족_개별실패() throws Exception {
+        FixedLatencyUserPointTable userPointTable = new FixedLatencyUserPointTable(5, 5);
+        FixedLatencyPointHistoryTable historyTable = new FixedLatencyPointHistoryTable(1);
+        PointService service = newService(userPointTable, historyTable, true);
+        userPointTable.insertOrUpdate(USER_ID, 500L);
+
+        long amount = 10;
+        AtomicInteger insufficient = new AtomicInteger();
+        runConcurrent(REQUESTS, () -> {
+            try {
+                return service.use(USER_ID, amount);
+            } catch (IllegalStateException e) {
+                assertThat(e).hasMessage("잔액 부족");
+                insufficient.incrementAndGet();
+                return null;
+            }
+        });
+
+        // 500 / 10 = 50 건만 성공
+        assertThat(insufficient.get()).isEqualTo(REQUESTS - 50);
+        assertThat(service.get(USER_ID).point()).isZero();
+        assertThat(historyTable.selectAllByUserId(USER_ID)).hasSize(50);
+    }
+
+    @Test
+    @DisplayName("배치 모드는 한 유저에 대한 동시 요청 처리량이 요청 단위 처리보다 높다")
+    void 배치모드_처리량_비교() throws Exception {
+        long amount = 10;
+
+        FixedLatencyUserPointTable lockTable = new FixedLatencyUserPointTable(5, 5);
+        PointService lockService = newService(lockTable, new FixedLatencyPointHistoryTable(1), false);
+        long lockMillis = runConcurrent(REQUESTS, () -> lockService.charge(USER_ID, amount));
+
+        FixedLatencyUserPointTable batchTable = new FixedLatencyUserPointTable(5, 5);
+        PointService batchService = newService(batchTable, new FixedLatencyPointHistoryTable(1), true);
+        long batchMillis = runConcurrent(REQUESTS, () -> batchService.charge(USER_ID, amount));
+
+        UserPoint lockResult = lockService.get(USER_ID);
+        UserPoint batchResult = batchService.get(USER_ID);
+        assertThat(batchResult.point()).isEqualTo(lockResult.point()).isEqualTo(REQUESTS * amount);
+        assertThat(batchMillis).isLessThan(lockMillis);
+    }
+}
@@ -0,0 +1,87 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointCommandResult;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.support.FixedLatencyPointHistoryTable;
+import io.hhplus.tdd.support.FixedLatencyUserPointTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointBulkTest {
+
+    @Test
+    @DisplayName("일괄 처리: 소요 시간은 전체 건수가 아니라 가장 바쁜 유저의 건수에 비례한다")
+    void 일괄처리_유저별_병렬() {
+        FixedLatencyUserPointTable userPointTable = new FixedLatencyUserPointTable(20, 20);
+        FixedLatencyPointHistoryTable historyTable = new FixedLatencyPointHistoryTable(5);
+        PointService service = new PointService(userPointTable, historyTable);
+
+        int users = 20;
+        int perUser = 10;
+        List<PointCommand> commands = new ArrayList<>();
+        for (int i = 0; i < perUser; i++) {
+            for (long userId = 0; userId < users; userId++) {
+                commands.add(new PointCommand(userId, TransactionType.CHARGE, 100));
+            }
+        }
+
+        long begin = System.nanoTime();
+        List<PointCommandResult> results = service.applyAll(commands);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+
+        // 순차 단건이라면 200건 × 45ms ≈ 9초, 유저별 묶음 + 병렬이면 한 유저분(20 + 20 + 10 × 5ms) 수준
+        assertThat(elapsedMillis).isLessThan(2_000);
+        assertThat(results).allMatch(result -> result.error() == null);
+        assertThat(userPointTable.updateCount.get()).isEqualTo(users);
+        for (long userId = 0; userId < users; userId++) {
+            assertThat(service.get(userId).point()).isEqualTo(perUser * 100L);
+        }
+        // 같은 유저 안에서는 요청 순서대로 반영된 잔액을 돌려받는다
+        assertThat(results.stream().filter(r -> r.command().userId() == 0).map(r -> r.point().point()))
+                .containsExactly(100L, 200L, 300L, 400L, 500L, 600L, 700L, 800L, 900L, 1000L);
+    }
+
+    @Test
+    @DisplayName("일괄 처리: null 항목은 그 건만 400 으로 실패하고 나머지는 반영된다")
+    void 일괄처리_null_항목() {
+        PointService service = new PointService(new FixedLatencyUserPointTable(0, 0), new FixedLatencyPointHistoryTable(0));
+
+        List<PointCommandResult> results = service.applyAll(Arrays.asList(
+                new PointCommand(1L, TransactionType.CHARGE, 100),
+                null,
+                new PointCommand(1L, TransactionType.CHARGE, 50)));
+
+        assertThat(results.get(0).point().point()).isEqualTo(100L);
+        assertThat(results.get(1).error()).isInstanceOf(IllegalArgumentException.class);
+        assertThat(results.get(2).point().point()).isEqualTo(150L);
+        service.close();
+    }
+
+    @Test
+    @DisplayName("일괄 처리: 최대 건수를 넘으면 아무것도 반영하지 않고 400")
+    void 일괄처리_최대_건수() {
+        PointProperties properties = new PointProperties();
+        properties.getBulk().setMaxCommands(2);
+        PointService service = new PointService(new FixedLatencyUserPointTable(0, 0),
+                new FixedLatencyPointHistoryTable(0), properties);
+
+        assertThatThrownBy(() -> service.applyAll(List.of(
+                new PointCommand(1L, TransactionType.CHARGE, 100),
+                new PointCommand(2L, TransactionType.CHARGE, 100),
+                new PointCommand(3L, TransactionType.CHARGE, 100))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(service.get(1L).point()).isZero();
+        service.close();
+    }
+}
@@ -0,0 +1,69 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPointCache;
+import io.hhplus.tdd.support.FixedLatencyPointHistoryTable;
+import io.hhplus.tdd.support.FixedLatencyUserPointTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointCacheTest {
+
+    private FixedLatencyUserPointTable userPointTable;
+    private PointService service;
+
+    @BeforeEach
+    void setUp() {
+        userPointTable = new FixedLatencyUserPointTable(0, 0);
+        PointProperties properties = new PointProperties();
+        properties.getCache().setEnabled(true);
+        properties.getCache().setMaximumSize(16);
+        service = new PointService(userPointTable, new FixedLatencyPointHistoryTable(0), properties);
+    }
+
+    @Test
+    @DisplayName("캐시: 같은 유저 반복 조회는 테이블을 한 번만 읽는다")
+    void 반복조회_캐시히트() {
+        userPointTable.insertOrUpdate(1L, 500L);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(service.get(1L).point()).isEqualTo(500L);
+        }
+
+        assertThat(userPointTable.selectCount.get()).isEqualTo(1);
+        UserPointCache.Stats stats = service.cacheStats();
+        assertThat(stats.hits()).isEqualTo(9);
+        assertThat(stats.misses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("캐시: 충전/사용 결과는 곧바로 다음 조회에 보인다 (write-through)")
+    void 충전사용_즉시반영() {
+        service.get(1L);
+        service.charge(1L, 1000L);
+        assertThat(service.get(1L).point()).isEqualTo(1000L);
+
+        service.use(1L, 300L);
+        assertThat(service.get(1L).point()).isEqualTo(700L);
+
+        // 최초 1회 외에는 충전/사용도 캐시에서 현재 잔액을 읽는다
+        assertThat(userPointTable.selectCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("캐시: 최대 크기를 넘으면 오래 안 쓰인 유저부터 제거되고, 다시 읽으면 테이블 값을 가져온다")
+    void 최대크기_초과_제거() {
+        for (long id = 1; id <= 32; id++) {
+            service.charge(id, id);
+        }
+
+        UserPointCache.Stats stats = service.cacheStats();
+        assertThat(stats.size()).isLessThanOrEqualTo(16);
+        assertThat(stats.evictions()).isGreaterThanOrEqualTo(16);
+        assertThat(service.get(1L).point()).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,268 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.database.UserPointTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 같은 JVM 에서 노드 3개를 띄워, 요청을 아무 노드에나 보내도 유저별 잔액이 소유 노드 한 곳에서만 관리되는지 확인
+class PointClusterTest {
+
+    private static final int NODES = 3;
+    private static final int USERS = 6;
+    private static final Pattern POINT = Pattern.compile("\"point\":(\\d+)");
+    private static final String SECRET = "cluster-test-secret";
+
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private final List<String> addresses = new ArrayList<>();
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void startNodes() throws IOException {
+        List<Integer> ports = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                ports.add(socket.getLocalPort());
+            }
+        }
+        ports.forEach(port -> addresses.add("http://localhost:" + port));
+        String members = String.join(",", addresses);
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(new SpringApplicationBuilder(TddApplication.class).properties(
+                    "server.port=" + ports.get(i),
+                    "spring.main.banner-mode=off",
+                    "point.cluster.enabled=true",
+                    "point.cluster.self=" + addresses.get(i),
+                    "point.cluster.members=" + members,
+                    "point.cluster.secret=" + SECRET).run());
+        }
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    private HttpResponse<String> send(String node, String method, String path, String body) throws Exception {
+        return client.send(request(node, method, path, body).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest.Builder request(String node, String method, String path, String body) {
+        return HttpRequest.newBuilder(URI.create(node + path))
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    // 유저 잔액을 가진 노드 수 (각 노드의 메모리 테이블 기준)
+    private int holdersOf(long userId) {
+        int holders = 0;
+        for (ConfigurableApplicationContext node : nodes) {
+            if (node.getBean(UserPointTable.class).selectById(userId).point() > 0) {
+                holders++;
+            }
+        }
+        return holders;
+    }
+
+    // 유저 잔액을 가진 노드의 순번 (없으면 -1)
+    private int ownerIndexOf(long userId) {
+        for (int i = 0; i < nodes.size(); i++) {
+            if (nodes.get(i).getBean(UserPointTable.class).selectById(userId).point() > 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long pointOf(HttpResponse<String> response) {
+        Matcher matcher = POINT.matcher(response.body());
+        assertThat(matcher.find()).as(response.body()).isTrue();
+        return Long.parseLong(matcher.group(1));
+    }
+
+    @Test
+    @DisplayName("클러스터: 여러 노드에 나눠 보낸 동시 충전/사용이 유저별로 정확히 합산되고, 잔액은 소유 노드에만 있다")
+    void 노드에_흩어진_동시_요청() throws Exception {
+        int threads = 8;
+        int requestsPerThread = 8;
+        AtomicLongArray expected = new AtomicLongArray(USERS);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < requestsPerThread; i++) {
+                    int user = random.nextInt(USERS);
+                    String node = addresses.get(random.nextInt(NODES));
+                    boolean charge = i % 3 != 2;
+                    long amount = charge ? 100 : 150;
+                    HttpResponse<String> response =
+                            send(node, "PATCH", "/point/" + user + (charge ? "/charge" : "/use"), String.valueOf(amount));
+                    if (response.statusCode() == 200) {
+                        expected.addAndGet(user, charge ? amount : -amount);
+                    } else {
+                        // 잔액 부족만 허용
+                        assertThat(response.statusCode()).as(response.body()).isEqualTo(409);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        for (int user = 0; user < USERS; user++) {
+            // 어느 노드에 물어도 같은 잔액
+            for (String node : addresses) {
+                assertThat(pointOf(send(node, "GET", "/point/" + user, null))).isEqualTo(expected.get(user));
+            }
+            // 각 노드의 메모리 테이블 중 소유 노드 한 곳에만 잔액이 있다
+            if (expected.get(user) > 0) {
+                assertThat(holdersOf(user)).isEqualTo(1);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("클러스터: 공유 비밀값이 아닌 X-Point-Forwarded 헤더는 무시하고 소유 노드로 넘긴다")
+    void 위조한_전달_헤더() throws Exception {
+        for (String node : addresses) {
+            HttpRequest request = request(node, "PATCH", "/point/1/charge", "100")
+                    .header("X-Point-Forwarded", "spoofed")
+                    .build();
+            assertThat(client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode()).isEqualTo(200);
+        }
+
+        assertThat(pointOf(send(addresses.get(0), "GET", "/point/1", null))).isEqualTo(300L);
+        assertThat(holdersOf(1L)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("클러스터: 일괄 처리는 명령을 소유 노드별로 나눠 처리하고, 결과를 요청 순서대로 돌려준다")
+    void 노드에_걸친_일괄_처리() throws Exception {
+        // 유저를 넉넉히 잡아 세 노드에 고루 걸치게 한다
+        int users = 20;
+        StringBuilder body = new StringBuilder("[");
+        for (int user = 0; user < users; user++) {
+            body.append(user == 0 ? "" : ",")
+                    .append("{\"userId\":").append(user).append(",\"type\":\"CHARGE\",\"amount\":").append(100 + user).append('}');
+        }
+        body.append(",{\"userId\":0,\"type\":\"USE\",\"amount\":1000}]");
+
+        HttpResponse<String> response = send(addresses.get(0), "POST", "/point/batch", body.toString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        Matcher status = Pattern.compile("\"userId\":(\\d+).*?\"status\":(\\d+)").matcher(response.body());
+        List<String> results = new ArrayList<>();
+        while (status.find()) {
+            results.add(status.group(1) + ":" + status.group(2));
+        }
+        List<String> expected = new ArrayList<>();
+        for (int user = 0; user < users; user++) {
+            expected.add(user + ":200");
+        }
+        expected.add("0:409");
+        assertThat(results).containsExactlyElementsOf(expected);
+        for (int user = 0; user < users; user++) {
+            assertThat(pointOf(send(addresses.get(1), "GET", "/point/" + user, null))).isEqualTo(100L + user);
+            assertThat(holdersOf(user)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("클러스터: 이체는 두 유저의 소유 노드가 같으면 그 노드에서 처리하고, 다르면 409 로 거절한다")
+    void 노드별_이체() throws Exception {
+        int users = 10;
+        int[] owners = new int[users];
+        for (int user = 0; user < users; user++) {
+            assertThat(send(addresses.get(0), "PATCH", "/point/" + user + "/charge", "100").statusCode()).isEqualTo(200);
+            owners[user] = ownerIndexOf(user);
+        }
+        // 노드 3개에 유저 10명이면 소유 노드가 같은 쌍은 반드시 있다
+        int from = -1;
+        int to = -1;
+        int other = -1;
+        for (int a = 0; a < users && to < 0; a++) {
+            for (int b = a + 1; b < users && to < 0; b++) {
+                if (owners[a] == owners[b]) {
+                    from = a;
+                    to = b;
+                }
+            }
+        }
+        for (int user = 0; user < users; user++) {
+            if (owners[user] != owners[from]) {
+                other = user;
+            }
+        }
+        assertThat(other).isNotNegative();
+        // 소유 노드가 아닌 노드로 보낸다
+        String node = addresses.get((owners[from] + 1) % NODES);
+
+        HttpResponse<String> sameOwner = send(node, "POST", "/point/transfer",
+                "{\"fromId\":" + from + ",\"toId\":" + to + ",\"amount\":30}");
+        HttpResponse<String> crossOwner = send(node, "POST", "/point/transfer",
+                "{\"fromId\":" + from + ",\"toId\":" + other + ",\"amount\":30}");
+
+        assertThat(sameOwner.statusCode()).as(sameOwner.body()).isEqualTo(200);
+        assertThat(crossOwner.statusCode()).as(crossOwner.body()).isEqualTo(409);
+        assertThat(pointOf(send(addresses.get(0), "GET", "/point/" + from, null))).isEqualTo(70L);
+        assertThat(pointOf(send(addresses.get(1), "GET", "/point/" + to, null))).isEqualTo(130L);
+        assertThat(pointOf(send(addresses.get(2), "GET", "/point/" + other, null))).isEqualTo(100L);
+        assertThat(holdersOf(from)).isEqualTo(1);
+        assertThat(holdersOf(to)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("클러스터: 여러 유저 조회는 id 를 소유 노드별로 나눠 읽고, 요청한 순서대로 정확한 잔액을 돌려준다")
+    void 노드에_걸친_여러_유저_조회() throws Exception {
+        int users = 20;
+        List<String> ids = new ArrayList<>();
+        List<Long> expected = new ArrayList<>();
+        for (int user = users - 1; user >= 0; user--) {
+            assertThat(send(addresses.get(0), "PATCH", "/point/" + user + "/charge", String.valueOf(100 + user)).statusCode())
+                    .isEqualTo(200);
+            ids.add(String.valueOf(user));
+            expected.add(100L + user);
+        }
+        ids.add("3");
+        expected.add(103L);
+
+        HttpResponse<String> response = send(addresses.get(1), "GET", "/point?ids=" + String.join(",", ids), null);
+
+        assertThat(response.statusCode()).as(response.body()).isEqualTo(200);
+        Matcher point = POINT.matcher(response.body());
+        List<Long> points = new ArrayList<>();
+        while (point.find()) {
+            points.add(Long.parseLong(point.group(1)));
+        }
+        assertThat(points).containsExactlyElementsOf(expected);
+    }
+}
@@ -0,0 +1,91 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.support.FixedLatencyPointHistoryTable;
+import io.hhplus.tdd.support.FixedLatencyUserPointTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointColumnarHistoryTest {
+
+    private FixedLatencyPointHistoryTable historyTable;
+    private PointService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        PointProperties properties = new PointProperties();
+        properties.getStore().setHistory(PointProperties.Store.HistoryType.COLUMNAR);
+        historyTable = new FixedLatencyPointHistoryTable(0);
+        service = new PointService(new FixedLatencyUserPointTable(0, 0), historyTable, properties);
+
+        // 유저 0~2 에 1,500건씩 (여러 묶음이 봉인되도록), 짝수 금액마다 사용 1건
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 3_000; i++) {
+            long userId = i % 3;
+            int amount = i + 1;
+            pool.submit(() -> {
+                service.charge(userId, amount);
+                if (amount % 2 == 0) {
+                    service.use(userId, 1);
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("컬럼형 내역: 테이블을 쓰지 않고 모든 내역을 id 순서대로 돌려준다")
+    void 전체_내역_조회() {
+        List<PointHistory> histories = service.histories(1L);
+
+        assertThat(histories).hasSize(1_500);
+        assertThat(histories).extracting(PointHistory::id).isSorted();
+        assertThat(histories).allMatch(history -> history.userId() == 1L);
+        long balance = histories.stream()
+                .mapToLong(h -> h.type() == TransactionType.CHARGE ? h.amount() : -h.amount())
+                .sum();
+        assertThat(balance).isEqualTo(service.get(1L).point());
+        assertThat(service.historyUserIds()).containsExactly(0L, 1L, 2L);
+        assertThat(historyTable.insertCount.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("컬럼형 내역: 커서/시간 범위/종류 조회가 전체 내역을 거른 결과와 같다")
+    void 조건_조회() {
+        List<PointHistory> all = service.histories(1L);
+
+        List<PointHistory> walked = new ArrayList<>();
+        Long cursor = null;
+        do {
+            PointHistoryPage page = service.histories(1L, PointHistoryQuery.of(cursor, null, null, null, 100));
+            walked.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        assertThat(walked).containsExactlyElementsOf(all);
+
+        assertThat(service.histories(1L, PointHistoryQuery.of(null, null, null, TransactionType.USE, null)).items())
+                .containsExactlyElementsOf(all.stream().filter(h -> h.type() == TransactionType.USE).toList());
+
+        long from = all.get(300).updateMillis();
+        long to = all.get(900).updateMillis();
+        assertThat(service.histories(1L, PointHistoryQuery.of(null, from, to, null, null)).items())
+                .containsExactlyElementsOf(all.stream()
+                        .filter(h -> h.updateMillis() >= from && h.updateMillis() <= to)
+                        .toList());
+    }
+}
@@ -13,8 +13,10 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 
@@ -39,6 +41,14 @@ class PointControllerTest {
                 .build();
     }
 
+    @Test
+    @DisplayName("hot user 목록 - 감지 비활성화 시 빈 배열")
+    void testHotUsersDisabled() throws Exception {
+        mockMvc.perform(get("/point/hot-users"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+
     @Test
     @DisplayName("포인트 조회 - 잔고 없으면 0")
     void testGetPointEmpty() throws Exception {
@@ -151,6 +161,137 @@ class PointControllerTest {
                 .andExpect(jsonPath("$[1].amount", is(400)));
     }
 
+    @Test
+    @DisplayName("내역 페이지 조회 - limit 만큼 돌려주고 다음 커서를 헤더로 알려준다")
+    void testHistoriesPaged() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(patch("/point/1/charge")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(String.valueOf(i * 100)))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(patch("/point/1/use")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("50"))
+                .andExpect(status().isOk());
+
+        String next = mockMvc.perform(get("/point/1/histories").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].amount", is(100)))
+                .andExpect(jsonPath("$[1].amount", is(200)))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/point/1/histories").param("limit", "2").param("cursor", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].amount", is(300)))
+                .andExpect(jsonPath("$[1].type", is("USE")));
+
+        mockMvc.perform(get("/point/1/histories").param("type", "USE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].amount", is(50)))
+                .andExpect(header().string("X-Next-Cursor", nullValue()));
+    }
+
+    @Test
+    @DisplayName("멱등 키 - 같은 Idempotency-Key 로 재시도하면 다시 충전하지 않고 같은 결과")
+    void testChargeIdempotent() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(patch("/point/1/charge")
+                            .header("Idempotency-Key", "retry-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("1000"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.point", is(1000)));
+        }
+
+        mockMvc.perform(patch("/point/1/charge")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("500"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다."));
+    }
+
+    @Test
+    @DisplayName("요약 조회 - 충전/사용 합계와 일 단위 칸, 잘못된 단위는 400")
+    void testSummary() throws Exception {
+        mockMvc.perform(patch("/point/1/charge")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("1000"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/point/1/use")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("400"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/point/1/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.granularity", is("DAY")))
+                .andExpect(jsonPath("$.chargedAmount", is(1000)))
+                .andExpect(jsonPath("$.usedAmount", is(400)))
+                .andExpect(jsonPath("$.chargeCount", is(1)))
+                .andExpect(jsonPath("$.useCount", is(1)))
+                .andExpect(jsonPath("$.buckets[0].chargedAmount", is(1000)));
+
+        mockMvc.perform(get("/point/1/summary").param("bucket", "WEEK"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("내역 페이지 조회 - limit 이 0 이하면 400")
+    void testHistoriesInvalidLimit() throws Exception {
+        mockMvc.perform(get("/point/1/histories").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("limit 은 0보다 큰 정수여야 합니다."));
+    }
+
+    @Test
+    @DisplayName("일괄 처리 - 건별 결과를 요청 순서대로, 실패는 단건 API 와 같은 상태/메시지로")
+    void testBatch() throws Exception {
+        userPointTable.insertOrUpdate(2L, 100);
+        mockMvc.perform(post("/point/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"userId": 1, "type": "CHARGE", "amount": 1000},
+                                  {"userId": 2, "type": "USE", "amount": 500},
+                                  {"userId": 1, "type": "USE", "amount": 400},
+                                  {"userId": 2, "type": "CHARGE", "amount": 0}
+                                ]
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(4)))
+                .andExpect(jsonPath("$[0].status", is(200)))
+                .andExpect(jsonPath("$[0].point.point", is(1000)))
+                .andExpect(jsonPath("$[1].status", is(409)))
+                .andExpect(jsonPath("$[1].error.message", is("잔액 부족")))
+                .andExpect(jsonPath("$[2].status", is(200)))
+                .andExpect(jsonPath("$[2].point.point", is(600)))
+                .andExpect(jsonPath("$[3].status", is(400)))
+                .andExpect(jsonPath("$[3].error.message", is("금액은 0보다 큰 정수여야 합니다.")));
+
+        mockMvc.perform(get("/point/1"))
+                .andExpect(jsonPath("$.point", is(600)));
+        mockMvc.perform(get("/point/2"))
+                .andExpect(jsonPath("$.point", is(100)));
+    }
+
+    @Test
+    @DisplayName("일괄 처리 - 본문의 null 항목은 그 건만 400")
+    void testBatchNullCommand() throws Exception {
+        mockMvc.perform(post("/point/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"userId\": 1, \"type\": \"CHARGE\", \"amount\": 100}, null]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(200)))
+                .andExpect(jsonPath("$[1].status", is(400)))
+                .andExpect(jsonPath("$[1].error.message", is("비어 있는 요청입니다.")));
+    }
+
     @Test
     @DisplayName("포인트 충전 - 디버그용: 0원일 때 실제 응답 확인")
     void debugChargeZero() throws Exception {
@@ -163,4 +304,44 @@ class PointControllerTest {
         System.out.println("DEBUG contentType=" + res.getContentType());
         System.out.println("DEBUG body=" + res.getContentAsString());
      }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("포인트 이체 - 두 유저의 잔액을 함께 돌려주고, 잔액이 부족하면 409")
+    void testTransfer() throws Exception {
+        mockMvc.perform(patch("/point/1/charge")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("1000"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/point/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromId\":1,\"toId\":2,\"amount\":300}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from.point", is(700)))
+                .andExpect(jsonPath("$.to.point", is(300)));
+
+        mockMvc.perform(post("/point/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromId\":2,\"toId\":1,\"amount\":301}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("여러 유저 잔액 조회 - 요청한 id 순서대로")
+    void testGetPoints() throws Exception {
+        mockMvc.perform(patch("/point/2/charge")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("200"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/point").param("ids", "2,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(2)))
+                .andExpect(jsonPath("$[0].point", is(200)))
+                .andExpect(jsonPath("$[1].id", is(1)))
+                .andExpect(jsonPath("$[1].point", is(0)));
+
+        mockMvc.perform(get("/point"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,116 @@
+package io.hhplus.tdd;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryExportController;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.support.FixedLatencyPointHistoryTable;
+import io.hhplus.tdd.support.FixedLatencyUserPointTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class PointHistoryExportControllerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private PointHistoryTable pointHistoryTable;
+    private PointService service;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setup() {
+        pointHistoryTable = new PointHistoryTable();
+        service = new PointService(new UserPointTable(), pointHistoryTable);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new PointHistoryExportController(service, objectMapper))
+                .setControllerAdvice(new GlobalPointExceptionHandler())
+                .build();
+    }
+
+    private List<PointHistory> readNdjson(String url) throws Exception {
+        MvcResult started = mockMvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        return Arrays.stream(body.split("\n"))
+                .filter(line -> !line.isBlank())
+                .map(line -> {
+                    try {
+                        return objectMapper.readValue(line, PointHistory.class);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+
+    @Test
+    @DisplayName("유저 내역 스트리밍: 한 줄에 한 건씩 테이블과 같은 순서로 내려준다")
+    void 유저내역_스트리밍() throws Exception {
+        pointHistoryTable.insert(1L, 500, TransactionType.CHARGE, System.currentTimeMillis());
+        service.charge(1L, 100);
+        service.use(1L, 50);
+
+        assertThat(readNdjson("/point/1/histories/stream"))
+                .isEqualTo(pointHistoryTable.selectAllByUserId(1L));
+    }
+
+    @Test
+    @DisplayName("전체 내보내기: 서비스를 거친 모든 유저의 내역을 유저 순서대로 내려준다")
+    void 전체_내보내기() throws Exception {
+        service.charge(2L, 200);
+        service.charge(1L, 100);
+        service.charge(2L, 300);
+
+        List<PointHistory> exported = readNdjson("/point/histories/export");
+
+        assertThat(exported).extracting(PointHistory::userId).containsExactly(1L, 2L, 2L);
+        assertThat(exported).extracting(PointHistory::amount).containsExactly(100L, 200L, 300L);
+    }
+
+    @Test
+    @DisplayName("전체 내보내기: 재시작 후 저널에서 복구한 유저의 내역도 내려준다")
+    void 재시작_후_전체_내보내기(@TempDir Path directory) throws Exception {
+        PointProperties properties = new PointProperties();
+        properties.getJournal().setEnabled(true);
+        properties.getJournal().setDirectory(directory.toString());
+        PointService before = new PointService(new FixedLatencyUserPointTable(0, 0),
+                new FixedLatencyPointHistoryTable(0), properties);
+        before.charge(2L, 200);
+        before.charge(1L, 100);
+        before.close();
+
+        PointService restarted = new PointService(new FixedLatencyUserPointTable(0, 0),
+                new FixedLatencyPointHistoryTable(0), properties);
+        mockMvc = MockMvcBuilders.standaloneSetup(new PointHistoryExportController(restarted, objectMapper))
+                .setControllerAdvice(new GlobalPointExceptionHandler())
+                .build();
+
+        List<PointHistory> exported = readNdjson("/point/histories/export");
+
+        assertThat(exported).extracting(PointHistory::userId).containsExactly(1L, 2L);
+        assertThat(exported).extracting(PointHistory::amount).containsExactly(100L, 200L);
+        restarted.close();
+    }
+}
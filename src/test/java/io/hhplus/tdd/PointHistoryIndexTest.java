@@ -0,0 +1,57 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.support.FixedLatencyPointHistoryTable;
+import io.hhplus.tdd.support.FixedLatencyUserPointTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointHistoryIndexTest {
+
+    private FixedLatencyPointHistoryTable historyTable;
+    private PointService service;
+
+    @BeforeEach
+    void setUp() {
+        historyTable = new FixedLatencyPointHistoryTable(0);
+        service = new PointService(new FixedLatencyUserPointTable(0, 0), historyTable);
+    }
+
+    @Test
+    @DisplayName("내역 인덱스: 기존 테이블 내역과 이후 충전/사용 내역을 테이블과 동일한 순서로 돌려준다")
+    void 인덱스_테이블과_동일() {
+        historyTable.insert(1L, 500, TransactionType.CHARGE, System.currentTimeMillis());
+        historyTable.insert(2L, 700, TransactionType.CHARGE, System.currentTimeMillis());
+
+        // 첫 조회 시 테이블에서 채워짐
+        assertThat(service.histories(1L)).isEqualTo(historyTable.selectAllByUserId(1L));
+
+        service.charge(1L, 100);
+        service.charge(2L, 100);
+        service.use(1L, 50);
+
+        assertThat(service.histories(1L))
+                .isEqualTo(historyTable.selectAllByUserId(1L))
+                .extracting(h -> h.type())
+                .containsExactly(TransactionType.CHARGE, TransactionType.CHARGE, TransactionType.USE);
+        assertThat(service.histories(2L)).isEqualTo(historyTable.selectAllByUserId(2L));
+    }
+
+    @Test
+    @DisplayName("내역 인덱스: 한 번 채워진 유저는 다시 전체 테이블을 훑지 않는다")
+    void 인덱스_재조회시_테이블_미사용() {
+        service.charge(1L, 100);
+        service.histories(1L);
+
+        for (int i = 0; i < 5; i++) {
+            service.charge(1L, 100);
+            assertThat(service.histories(1L)).hasSize(i + 2);
+        }
+
+        assertThat(historyTable.selectCount.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,89 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.support.FixedLatencyPointHistoryTable;
+import io.hhplus.tdd.support.FixedLatencyUserPointTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointIdempotencyTest {
+
+    private FixedLatencyUserPointTable userPointTable;
+    private FixedLatencyPointHistoryTable historyTable;
+    private PointService service;
+
+    @BeforeEach
+    void setUp() {
+        start(600_000);
+    }
+
+    private void start(long ttlMillis) {
+        userPointTable = new FixedLatencyUserPointTable(0, 100);
+        historyTable = new FixedLatencyPointHistoryTable(0);
+        PointProperties properties = new PointProperties();
+        properties.getIdempotency().setTtlMillis(ttlMillis);
+        service = new PointService(userPointTable, historyTable, properties);
+    }
+
+    @Test
+    @DisplayName("멱등 키: 같은 키의 동시 요청은 한 번만 실행되고 모두 같은 결과를 받는다")
+    void 동시_중복_요청() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        List<Future<UserPoint>> results = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            results.add(pool.submit(() -> service.charge(1L, 100L, "charge-1")));
+        }
+        UserPoint first = results.get(0).get();
+        for (Future<UserPoint> result : results) {
+            assertThat(result.get()).isEqualTo(first);
+        }
+        pool.shutdown();
+
+        assertThat(first.point()).isEqualTo(100L);
+        assertThat(userPointTable.updateCount.get()).isEqualTo(1);
+        assertThat(historyTable.insertCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("멱등 키: 재시도는 테이블을 거치지 않고 처음 결과(오류 포함)를 돌려주며, 다른 요청에 같은 키를 쓰면 거절한다")
+    void 재시도와_오용() {
+        assertThatThrownBy(() -> service.use(1L, 500L, "use-1"))
+                .isInstanceOf(IllegalStateException.class);
+        service.charge(1L, 1_000L, "charge-1");
+        int selects = userPointTable.selectCount.get();
+
+        // 잔액이 생겼어도 같은 키의 재시도는 처음 오류 그대로
+        assertThatThrownBy(() -> service.use(1L, 500L, "use-1"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(service.charge(1L, 1_000L, "charge-1").point()).isEqualTo(1_000L);
+        assertThat(userPointTable.selectCount.get()).isEqualTo(selects);
+
+        assertThatThrownBy(() -> service.charge(1L, 2_000L, "charge-1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        // 키는 유저별로 구분한다
+        assertThat(service.charge(2L, 2_000L, "charge-1").point()).isEqualTo(2_000L);
+    }
+
+    @Test
+    @DisplayName("멱등 키: 만료된 키는 새 요청으로 다시 실행한다")
+    void 만료_후_재실행() throws Exception {
+        start(300);
+        service.charge(1L, 100L, "charge-1");
+        Thread.sleep(400);
+
+        assertThat(service.charge(1L, 100L, "charge-1").point()).isEqualTo(200L);
+        assertThat(userPointTable.updateCount.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,136 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointJournal;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.support.FixedLatencyPointHistoryTable;
+import io.hhplus.tdd.support.FixedLatencyUserPointTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private PointProperties properties(PointJournal.Durability durability) {
+        PointProperties properties = new PointProperties();
+        properties.getJournal().setEnabled(true);
+        properties.getJournal().setDirectory(directory.toString());
+        // 세그먼트당 레코드 7건 → 여러 세그먼트로 나뉘어 기록된다
+        properties.getJournal().setSegmentBytes(7 * 40);
+        properties.getJournal().setDurability(durability);
+        return properties;
+    }
+
+    private PointService restart(PointProperties properties, FixedLatencyPointHistoryTable historyTable) {
+        return new PointService(new FixedLatencyUserPointTable(0, 0), historyTable, properties);
+    }
+
+    @ParameterizedTest
+    @EnumSource(PointJournal.Durability.class)
+    @DisplayName("저널: 재시작하면 기록을 replay 해 잔액과 내역을 그대로 복구한다")
+    void 재시작_후_복구(PointJournal.Durability durability) throws Exception {
+        PointProperties properties = properties(durability);
+        PointService service = restart(properties, new FixedLatencyPointHistoryTable(0));
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 200; i++) {
+            long userId = i % 5;
+            pool.submit(() -> {
+                service.charge(userId, 10);
+                service.use(userId, 3);
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        List<PointHistory> before = service.histories(1L);
+        service.close();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isGreaterThan(1);
+        }
+
+        FixedLatencyPointHistoryTable historyTable = new FixedLatencyPointHistoryTable(0);
+        PointService restarted = restart(properties, historyTable);
+        for (long userId = 0; userId < 5; userId++) {
+            assertThat(restarted.get(userId).point()).isEqualTo(40 * 7);
+        }
+        assertThat(historyTable.insertCount.get()).isEqualTo(400);
+        // 내역 id 는 복구 시 다시 매겨지므로 나머지 필드만 비교
+        assertThat(restarted.histories(1L))
+                .usingRecursiveFieldByFieldElementComparatorIgnoringFields("id")
+                .containsExactlyElementsOf(before);
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("저널: 마지막 기록이 깨져 있으면 그 앞까지만 복구하고 이어 쓴다")
+    void 깨진_꼬리_복구() throws Exception {
+        PointProperties properties = properties(PointJournal.Durability.FSYNC_PER_BATCH);
+        PointService service = restart(properties, new FixedLatencyPointHistoryTable(0));
+        service.charge(1L, 100);
+        service.charge(1L, 200);
+        service.close();
+
+        // 두 번째 레코드의 seq 를 훼손
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.sorted().findFirst().orElseThrow();
+        }
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[40] ^= 1;
+        Files.write(segment, bytes);
+
+        PointService restarted = restart(properties, new FixedLatencyPointHistoryTable(0));
+        assertThat(restarted.get(1L).point()).isEqualTo(100);
+        restarted.charge(1L, 5);
+        restarted.close();
+
+        PointService again = restart(properties, new FixedLatencyPointHistoryTable(0));
+        assertThat(again.get(1L).point()).isEqualTo(105);
+        assertThat(again.histories(1L)).extracting(PointHistory::type)
+                .containsExactly(TransactionType.CHARGE, TransactionType.CHARGE);
+        again.close();
+    }
+
+    @Test
+    @DisplayName("저널: 이체의 두 기록 중 뒤쪽이 깨져 있으면 이체 전체를 버린다")
+    void 깨진_이체_묶음() throws Exception {
+        PointProperties properties = properties(PointJournal.Durability.FSYNC_PER_BATCH);
+        PointService service = restart(properties, new FixedLatencyPointHistoryTable(0));
+        service.charge(1L, 100);
+        service.transfer(1L, 2L, 30);
+        service.close();
+
+        // 세 번째 레코드(이체의 입금 쪽)의 seq 를 훼손
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.sorted().findFirst().orElseThrow();
+        }
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[80] ^= 1;
+        Files.write(segment, bytes);
+
+        PointService restarted = restart(properties, new FixedLatencyPointHistoryTable(0));
+        assertThat(restarted.get(1L).point()).isEqualTo(100);
+        assertThat(restarted.get(2L).point()).isZero();
+        assertThat(restarted.histories(1L)).extracting(PointHistory::type).containsExactly(TransactionType.CHARGE);
+        restarted.close();
+    }
+}
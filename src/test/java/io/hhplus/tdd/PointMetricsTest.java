@@ -0,0 +1,78 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.MicrometerPointMetrics;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.support.FixedLatencyPointHistoryTable;
+import io.hhplus.tdd.support.FixedLatencyUserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private MicrometerPointMetrics metrics;
+    private PointService service;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new MicrometerPointMetrics(registry);
+        service = new PointService(new FixedLatencyUserPointTable(5, 5), new FixedLatencyPointHistoryTable(0),
+                new PointProperties(), metrics);
+    }
+
+    private long operations(String operation, String outcome) {
+        return registry.get("point.operation").tag("operation", operation).tag("outcome", outcome).timer().count();
+    }
+
+    @Test
+    @DisplayName("계측: 충전/사용 결과별 건수와 테이블 호출, 락 대기 시간이 기록된다")
+    void 결과별_건수와_테이블_호출_기록() {
+        service.charge(1L, 100);
+        service.use(1L, 30);
+        assertThatThrownBy(() -> service.use(1L, 1_000)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> service.charge(1L, Long.MAX_VALUE)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.charge(1L, 0)).isInstanceOf(IllegalArgumentException.class);
+        service.get(1L);
+        service.histories(1L);
+
+        assertThat(operations("charge", "success")).isEqualTo(1);
+        assertThat(operations("use", "success")).isEqualTo(1);
+        assertThat(operations("use", "insufficient_balance")).isEqualTo(1);
+        assertThat(operations("charge", "overflow")).isEqualTo(1);
+        assertThat(operations("charge", "invalid_request")).isEqualTo(1);
+        assertThat(operations("get", "success")).isEqualTo(1);
+        assertThat(operations("histories", "success")).isEqualTo(1);
+
+        // 락: 충전/사용 4건(금액 검증 실패 1건은 락 전에 거절) + 내역 첫 조회 1건, 잔액 조회: 충전/사용 4건 + get 1건
+        assertThat(registry.get("point.lock.wait").timer().count()).isEqualTo(5);
+        assertThat(registry.get("point.table.call").tag("call", "select_point").timer().count()).isEqualTo(5);
+        assertThat(registry.get("point.table.call").tag("call", "update_point").timer().count()).isEqualTo(2);
+        assertThat(registry.get("point.table.call").tag("call", "insert_history").timer().count()).isEqualTo(2);
+        assertThat(registry.get("point.table.call").tag("call", "select_point").timer().totalTime(TimeUnit.MILLISECONDS))
+                .isGreaterThanOrEqualTo(5 * 5);
+    }
+
+    @Test
+    @DisplayName("계측: 예외 핸들러가 처리한 예외를 종류/상태 코드별로 센다")
+    void 예외_종류별_건수() {
+        GlobalPointExceptionHandler handler = new GlobalPointExceptionHandler(metrics);
+
+        handler.handleInsufficientBalance(new IllegalStateException("잔액 부족"));
+        handler.handleInsufficientBalance(new IllegalStateException("잔액 부족"));
+        handler.handleInvalidAmount(new IllegalArgumentException("허용 범위를 초과합니다."));
+
+        assertThat(registry.get("point.errors").tag("exception", "IllegalStateException").tag("status", "409")
+                .counter().count()).isEqualTo(2);
+        assertThat(registry.get("point.errors").tag("exception", "IllegalArgumentException").tag("status", "400")
+                .counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,86 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.support.FixedLatencyPointHistoryTable;
+import io.hhplus.tdd.support.FixedLatencyUserPointTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointMultiGetTest {
+
+    @Test
+    @DisplayName("여러 유저 조회: 테이블 조회를 동시에 실행해 한 페이지가 조회 한 번에 가까운 시간에 끝난다")
+    void 병렬_조회() {
+        // 조회 한 번에 200ms, 순차로 읽으면 100명에 20초
+        FixedLatencyUserPointTable table = new FixedLatencyUserPointTable(200, 0);
+        List<Long> ids = LongStream.range(0, 100).boxed().toList();
+        ids.forEach(id -> table.insertOrUpdate(id, id * 10));
+        PointService service = new PointService(table, new FixedLatencyPointHistoryTable(0));
+
+        long start = System.nanoTime();
+        List<UserPoint> points = service.getAll(ids);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(points).extracting(UserPoint::id).containsExactlyElementsOf(ids);
+        assertThat(points).extracting(UserPoint::point).containsExactlyElementsOf(ids.stream().map(id -> id * 10).toList());
+        assertThat(elapsedMillis).isLessThan(1_000);
+        service.close();
+    }
+
+    @Test
+    @DisplayName("여러 유저 조회: 요청한 id 순서를 지키고, 중복 id 는 한 번만 조회한다")
+    void 순서와_중복() {
+        FixedLatencyUserPointTable table = new FixedLatencyUserPointTable(0, 0);
+        PointService service = new PointService(table, new FixedLatencyPointHistoryTable(0));
+        service.charge(3L, 300);
+        service.charge(1L, 100);
+        table.selectCount.set(0);
+
+        List<UserPoint> points = service.getAll(List.of(3L, 2L, 1L, 3L));
+
+        assertThat(points).extracting(UserPoint::id).containsExactly(3L, 2L, 1L, 3L);
+        assertThat(points).extracting(UserPoint::point).containsExactly(300L, 0L, 100L, 300L);
+        assertThat(table.selectCount.get()).isEqualTo(3);
+        service.close();
+    }
+
+    @Test
+    @DisplayName("여러 유저 조회: 캐시에 있는 유저는 테이블을 다시 읽지 않는다")
+    void 캐시_재사용() {
+        FixedLatencyUserPointTable table = new FixedLatencyUserPointTable(0, 0);
+        PointProperties properties = new PointProperties();
+        properties.getCache().setEnabled(true);
+        PointService service = new PointService(table, new FixedLatencyPointHistoryTable(0), properties);
+        service.charge(1L, 100);
+        service.get(2L);
+        table.selectCount.set(0);
+
+        List<UserPoint> points = service.getAll(List.of(1L, 2L, 3L));
+
+        assertThat(points).extracting(UserPoint::point).containsExactly(100L, 0L, 0L);
+        // 캐시에 없던 3번만 읽는다
+        assertThat(table.selectCount.get()).isEqualTo(1);
+        service.close();
+    }
+
+    @Test
+    @DisplayName("여러 유저 조회: id 가 없거나 최대 개수를 넘으면 400")
+    void 요청_검증() {
+        PointProperties properties = new PointProperties();
+        properties.getMultiGet().setMaxIds(3);
+        PointService service = new PointService(new FixedLatencyUserPointTable(0, 0),
+                new FixedLatencyPointHistoryTable(0), properties);
+
+        assertThatThrownBy(() -> service.getAll(List.of())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getAll(List.of(1L, 2L, 3L, 4L))).isInstanceOf(IllegalArgumentException.class);
+        service.close();
+    }
+}
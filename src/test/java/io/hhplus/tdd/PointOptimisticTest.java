@@ -0,0 +1,167 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointJournal;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.support.FixedLatencyPointHistoryTable;
+import io.hhplus.tdd.support.FixedLatencyUserPointTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointOptimisticTest {
+
+    private static final int THREADS = 16;
+    private static final int PAIRS = 50;
+
+    private static PointService optimisticService(FixedLatencyUserPointTable table, FixedLatencyPointHistoryTable histories,
+                                                  int maxAttempts) {
+        PointProperties properties = new PointProperties();
+        properties.getOptimistic().setEnabled(true);
+        properties.getOptimistic().setMaxAttempts(maxAttempts);
+        return new PointService(table, histories, properties);
+    }
+
+    private static void runConcurrently(int threads, Runnable body) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                body.run();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("낙관적 모드: 한 유저에 동시 충전/사용이 몰려도 잔액과 내역이 맞고, 테이블 기록은 합쳐진다")
+    void 동시_충전_사용() throws Exception {
+        FixedLatencyUserPointTable table = new FixedLatencyUserPointTable(0, 5);
+        FixedLatencyPointHistoryTable historyTable = new FixedLatencyPointHistoryTable(0);
+        PointService service = optimisticService(table, historyTable, 1_000);
+
+        // 스레드마다 충전 뒤에 사용하므로 잔액 부족은 나지 않는다
+        runConcurrently(THREADS, () -> {
+            for (int i = 0; i < PAIRS; i++) {
+                service.charge(1L, 100);
+                service.use(1L, 30);
+            }
+        });
+
+        long expected = THREADS * PAIRS * 70L;
+        assertThat(service.get(1L).point()).isEqualTo(expected);
+
+        service.flushHistories();
+        assertThat(table.selectById(1L).point()).isEqualTo(expected);
+        assertThat(table.updateCount.get()).isLessThan(THREADS * PAIRS * 2);
+
+        // 내역은 커밋(버전) 순서대로 남으므로, 순서대로 더한 잔액은 음수가 되지 않고 최종 잔액과 같다
+        List<PointHistory> histories = service.histories(1L);
+        assertThat(histories).hasSize(THREADS * PAIRS * 2);
+        long running = 0;
+        for (PointHistory history : histories) {
+            running += history.type() == TransactionType.CHARGE ? history.amount() : -history.amount();
+            assertThat(running).isNotNegative();
+        }
+        assertThat(running).isEqualTo(expected);
+        service.close();
+    }
+
+    @Test
+    @DisplayName("낙관적 모드: 잔액 부족은 재시도 없이 거절되고 잔액/내역이 바뀌지 않는다")
+    void 잔액_부족() {
+        FixedLatencyUserPointTable table = new FixedLatencyUserPointTable(0, 0);
+        table.insertOrUpdate(1L, 100L);
+        FixedLatencyPointHistoryTable historyTable = new FixedLatencyPointHistoryTable(0);
+        PointService service = optimisticService(table, historyTable, 64);
+
+        assertThatThrownBy(() -> service.use(1L, 200))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("잔액 부족");
+
+        assertThat(service.get(1L).point()).isEqualTo(100L);
+        service.flushHistories();
+        assertThat(service.histories(1L)).isEmpty();
+        assertThat(table.selectCount.get()).isEqualTo(1);
+        service.close();
+    }
+
+    @Test
+    @DisplayName("낙관적 모드: 시도 횟수를 넘긴 충돌은 409 로 거절되고, 성공한 충전만 잔액에 남는다")
+    void 충돌_한도_초과() throws Exception {
+        FixedLatencyUserPointTable table = new FixedLatencyUserPointTable(0, 0);
+        FixedLatencyPointHistoryTable historyTable = new FixedLatencyPointHistoryTable(0);
+        PointService service = optimisticService(table, historyTable, 1);
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger conflicted = new AtomicInteger();
+        runConcurrently(THREADS, () -> {
+            for (int i = 0; i < PAIRS; i++) {
+                try {
+                    service.charge(1L, 100);
+                    succeeded.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    conflicted.incrementAndGet();
+                }
+            }
+        });
+
+        assertThat(succeeded.get() + conflicted.get()).isEqualTo(THREADS * PAIRS);
+        assertThat(service.get(1L).point()).isEqualTo(succeeded.get() * 100L);
+        service.flushHistories();
+        assertThat(table.selectById(1L).point()).isEqualTo(succeeded.get() * 100L);
+        assertThat(service.histories(1L)).hasSize(succeeded.get());
+        service.close();
+    }
+
+    @Test
+    @DisplayName("낙관적 모드: 저널 기록에 실패한 충전은 되돌려져 잔액/내역이 바뀌지 않는다")
+    void 저널_실패(@TempDir Path directory) throws Exception {
+        FixedLatencyUserPointTable table = new FixedLatencyUserPointTable(0, 0);
+        FixedLatencyPointHistoryTable historyTable = new FixedLatencyPointHistoryTable(0);
+        PointProperties properties = new PointProperties();
+        properties.getOptimistic().setEnabled(true);
+        properties.getJournal().setEnabled(true);
+        properties.getJournal().setDirectory(directory.toString());
+        // 세그먼트당 레코드 2건
+        properties.getJournal().setSegmentBytes(2 * 40);
+        properties.getJournal().setDurability(PointJournal.Durability.FSYNC_PER_BATCH);
+        PointService service = new PointService(table, historyTable, properties);
+
+        service.charge(1L, 100);
+        service.charge(1L, 50);
+        // 다음 세그먼트 파일이 이미 있으면 세그먼트를 넘기지 못해 저널 기록이 실패한다
+        Files.createFile(directory.resolve(String.format("%020d.journal", 3)));
+
+        assertThatThrownBy(() -> service.charge(1L, 30)).isInstanceOf(UncheckedIOException.class);
+
+        assertThat(service.get(1L).point()).isEqualTo(150L);
+        service.flushHistories();
+        assertThat(service.histories(1L)).extracting(PointHistory::amount).containsExactly(100L, 50L);
+        assertThat(table.selectById(1L).point()).isEqualTo(150L);
+        service.close();
+    }
+}
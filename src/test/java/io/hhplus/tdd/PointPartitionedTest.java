@@ -0,0 +1,175 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointCommandResult;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.support.FixedLatencyPointHistoryTable;
+import io.hhplus.tdd.support.FixedLatencyUserPointTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class PointPartitionedTest {
+
+    private static PointService partitionedService(FixedLatencyUserPointTable table,
+                                                   FixedLatencyPointHistoryTable histories, int partitions) {
+        PointProperties properties = new PointProperties();
+        properties.getPartitioned().setEnabled(true);
+        properties.getPartitioned().setPartitions(partitions);
+        return new PointService(table, histories, properties);
+    }
+
+    private static void runConcurrently(int threads, Runnable body) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                body.run();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("파티션 모드: 한 유저에 동시 충전/사용이 몰려도 잔액과 내역이 정확하다")
+    void 동시_충전_사용() throws Exception {
+        FixedLatencyUserPointTable table = new FixedLatencyUserPointTable(0, 0);
+        FixedLatencyPointHistoryTable historyTable = new FixedLatencyPointHistoryTable(0);
+        PointService service = partitionedService(table, historyTable, 4);
+
+        runConcurrently(16, () -> {
+            for (int i = 0; i < 50; i++) {
+                service.charge(1L, 100);
+                service.use(1L, 30);
+            }
+        });
+
+        assertThat(service.get(1L).point()).isEqualTo(16 * 50 * 70L);
+        assertThat(historyTable.selectAllByUserId(1L)).hasSize(16 * 50 * 2);
+        service.close();
+    }
+
+    @Test
+    @DisplayName("파티션 모드: 다른 파티션의 유저는 서로 기다리지 않는다")
+    void 파티션끼리_병렬() throws Exception {
+        // 유저 0~3 은 서로 다른 파티션, 갱신 한 번에 200ms
+        FixedLatencyUserPointTable table = new FixedLatencyUserPointTable(0, 200);
+        PointService service = partitionedService(table, new FixedLatencyPointHistoryTable(0), 4);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (long userId = 0; userId < 4; userId++) {
+            long id = userId;
+            futures.add(pool.submit(() -> service.charge(id, 100)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        pool.shutdown();
+
+        // 직렬이면 800ms 이상
+        assertThat(elapsedMillis).isLessThan(600);
+        for (long userId = 0; userId < 4; userId++) {
+            assertThat(service.get(userId).point()).isEqualTo(100L);
+        }
+        service.close();
+    }
+
+    @Test
+    @DisplayName("파티션 모드: 일괄 처리도 유저의 파티션에서 요청 순서대로 반영된다")
+    void 일괄_처리() {
+        FixedLatencyUserPointTable table = new FixedLatencyUserPointTable(0, 0);
+        PointService service = partitionedService(table, new FixedLatencyPointHistoryTable(0), 2);
+
+        List<PointCommandResult> results = service.applyAll(List.of(
+                new PointCommand(1L, TransactionType.CHARGE, 100),
+                new PointCommand(2L, TransactionType.CHARGE, 50),
+                new PointCommand(1L, TransactionType.USE, 300),
+                new PointCommand(1L, TransactionType.USE, 40)));
+
+        assertThat(results.get(0).point().point()).isEqualTo(100L);
+        assertThat(results.get(1).point().point()).isEqualTo(50L);
+        assertThat(results.get(2).error()).isInstanceOf(IllegalStateException.class);
+        assertThat(results.get(3).point().point()).isEqualTo(60L);
+        assertThat(service.get(1L).point()).isEqualTo(60L);
+        service.close();
+    }
+
+    @Test
+    @DisplayName("파티션 모드: 충전 중에 처음 내역을 조회해도 내역이 빠지거나 겹치지 않는다")
+    void 충전_중_첫_내역_조회() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            FixedLatencyPointHistoryTable historyTable = new FixedLatencyPointHistoryTable(0);
+            PointService service = partitionedService(new FixedLatencyUserPointTable(0, 0), historyTable, 2);
+            ExecutorService pool = Executors.newFixedThreadPool(5);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 50; i++) {
+                        service.charge(1L, 10);
+                    }
+                    return null;
+                }));
+            }
+            futures.add(pool.submit(() -> {
+                start.await();
+                return service.histories(1L);
+            }));
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            pool.shutdown();
+
+            List<PointHistory> histories = service.histories(1L);
+            assertThat(histories).hasSize(200);
+            assertThat(histories).extracting(PointHistory::id).doesNotHaveDuplicates();
+            assertThat(histories).isEqualTo(historyTable.selectAllByUserId(1L));
+            service.close();
+        }
+    }
+
+    @Test
+    @DisplayName("파티션 모드: 명령이 Error 로 끝나도 호출자는 기다리지 않고 그 Error 를 받는다")
+    void 명령_Error_전파() {
+        FixedLatencyUserPointTable table = new FixedLatencyUserPointTable(0, 0) {
+            @Override
+            public UserPoint selectById(Long id) {
+                throw new AssertionError("table down");
+            }
+        };
+        PointService service = partitionedService(table, new FixedLatencyPointHistoryTable(0), 2);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                assertThatThrownBy(() -> service.charge(1L, 100))
+                        .isInstanceOf(AssertionError.class)
+                        .hasMessage("table down"));
+        service.close();
+    }
+}
@@ -0,0 +1,121 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.ReactivePointController;
+import io.hhplus.tdd.point.ReactivePointService;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.support.FixedLatencyPointHistoryTable;
+import io.hhplus.tdd.support.FixedLatencyUserPointTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class PointReactiveTest {
+
+    private ReactivePointService reactive;
+
+    private ReactivePointService start(FixedLatencyUserPointTable table, int blockingThreads) {
+        PointProperties properties = new PointProperties();
+        properties.getReactive().setEnabled(true);
+        properties.getReactive().setBlockingThreads(blockingThreads);
+        PointService service = new PointService(table, new FixedLatencyPointHistoryTable(0), properties);
+        reactive = new ReactivePointService(service, properties);
+        return reactive;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (reactive != null) {
+            reactive.close();
+        }
+    }
+
+    @Test
+    @DisplayName("논블로킹: 같은 유저의 충전은 구독한 순서대로 반영된다")
+    void 유저별_순서() {
+        ReactivePointService service = start(new FixedLatencyUserPointTable(0, 1), 8);
+
+        List<CompletableFuture<UserPoint>> results = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            results.add(service.charge(1L, 10, null).toFuture());
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).join().point()).isEqualTo(10L * (i + 1));
+        }
+    }
+
+    @Test
+    @DisplayName("논블로킹: 한 유저에 밀린 충전이 스레드를 잡고 있지 않아 다른 유저 조회가 기다리지 않는다")
+    void 순서_대기는_스레드를_잡지_않는다() {
+        // 충전 20건 x 갱신 50ms = 약 1초 동안 유저 1의 대기열이 밀려 있다
+        ReactivePointService service = start(new FixedLatencyUserPointTable(0, 50), 2);
+        List<CompletableFuture<UserPoint>> charges = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            charges.add(service.charge(1L, 10, null).toFuture());
+        }
+
+        assertThat(service.get(2L).block(Duration.ofMillis(500)).point()).isZero();
+
+        charges.forEach(CompletableFuture::join);
+        assertThat(service.get(1L).block().point()).isEqualTo(200L);
+    }
+
+    @Test
+    @DisplayName("논블로킹: 같은 경로와 같은 오류 응답 (잔액 부족 409, 잘못된 금액 400)")
+    void 같은_경로와_오류_응답() throws Exception {
+        ReactivePointService service = start(new FixedLatencyUserPointTable(0, 0), 4);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ReactivePointController(service))
+                .setControllerAdvice(new GlobalPointExceptionHandler())
+                .build();
+
+        MvcResult charged = mockMvc.perform(patch("/point/1/charge")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("1000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(charged))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point", is(1000)));
+
+        MvcResult insufficient = mockMvc.perform(patch("/point/1/use")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("5000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(insufficient))
+                .andExpect(status().isConflict())
+                .andExpect(content().string("잔액 부족"));
+
+        mockMvc.perform(patch("/point/1/charge")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("금액은 0보다 큰 정수여야 합니다."));
+
+        MvcResult histories = mockMvc.perform(get("/point/1/histories"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(histories))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].amount", is(1000)));
+    }
+}
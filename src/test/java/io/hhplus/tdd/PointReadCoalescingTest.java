@@ -0,0 +1,87 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.support.FixedLatencyPointHistoryTable;
+import io.hhplus.tdd.support.FixedLatencyUserPointTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointReadCoalescingTest {
+
+    private static final int READERS = 32;
+
+    private List<UserPoint> readConcurrently(PointService service) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(READERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<UserPoint>> futures = new ArrayList<>();
+        for (int i = 0; i < READERS; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return service.get(1L);
+            }));
+        }
+        start.countDown();
+        List<UserPoint> results = new ArrayList<>();
+        for (Future<UserPoint> future : futures) {
+            results.add(future.get());
+        }
+        pool.shutdown();
+        return results;
+    }
+
+    @Test
+    @DisplayName("조회 합치기: 같은 유저를 동시에 N 번 조회해도 테이블 조회는 한 번 남짓이다")
+    void 동시_조회_합치기() throws Exception {
+        FixedLatencyUserPointTable table = new FixedLatencyUserPointTable(200, 0);
+        table.insertOrUpdate(1L, 500L);
+        PointProperties properties = new PointProperties();
+        properties.getReadCoalescing().setEnabled(true);
+        PointService service = new PointService(table, new FixedLatencyPointHistoryTable(0), properties);
+
+        List<UserPoint> results = readConcurrently(service);
+
+        assertThat(results).allMatch(point -> point.point() == 500L);
+        // 늦게 출발한 reader 가 끝난 조회 뒤에 새로 읽을 수는 있다
+        assertThat(table.selectCount.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("조회 합치기: 끄면 동시 조회마다 테이블을 읽는다")
+    void 합치기_비활성화() throws Exception {
+        FixedLatencyUserPointTable table = new FixedLatencyUserPointTable(200, 0);
+        PointService service = new PointService(table, new FixedLatencyPointHistoryTable(0), new PointProperties());
+
+        readConcurrently(service);
+
+        assertThat(table.selectCount.get()).isEqualTo(READERS);
+    }
+
+    @Test
+    @DisplayName("조회 합치기: 충전이 끝난 뒤 시작한 조회는 충전 전 값을 받지 않는다")
+    void 변경_후_조회() throws Exception {
+        FixedLatencyUserPointTable table = new FixedLatencyUserPointTable(200, 0);
+        PointProperties properties = new PointProperties();
+        properties.getReadCoalescing().setEnabled(true);
+        PointService service = new PointService(table, new FixedLatencyPointHistoryTable(0), properties);
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<UserPoint> before = pool.submit(() -> service.get(1L));
+        Thread.sleep(50);
+        service.charge(1L, 100L);
+
+        assertThat(service.get(1L).point()).isEqualTo(100L);
+        before.get();
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,129 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.PointJournal;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.support.FixedLatencyPointHistoryTable;
+import io.hhplus.tdd.support.FixedLatencyUserPointTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointSnapshotTest {
+
+    @TempDir
+    Path root;
+
+    private PointProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PointProperties();
+        properties.getJournal().setEnabled(true);
+        properties.getJournal().setDirectory(root.resolve("journal").toString());
+        properties.getJournal().setSegmentBytes(50 * 40);
+        properties.getJournal().setDurability(PointJournal.Durability.FSYNC_PER_BATCH);
+        properties.getSnapshot().setEnabled(true);
+        properties.getSnapshot().setDirectory(root.resolve("snapshot").toString());
+        // 테스트에서는 직접 checkpoint() 를 호출
+        properties.getSnapshot().setIntervalMillis(3_600_000);
+    }
+
+    private PointService start(FixedLatencyPointHistoryTable historyTable) {
+        return new PointService(new FixedLatencyUserPointTable(0, 0), historyTable, properties);
+    }
+
+    private void writeHistory(PointService service) {
+        for (int i = 0; i < 500; i++) {
+            service.charge(i % 5, 2);
+        }
+        assertThat(service.checkpoint()).isEqualTo(500);
+        for (int i = 0; i < 20; i++) {
+            service.use(i % 5, 1);
+        }
+        service.close();
+    }
+
+    @Test
+    @DisplayName("스냅샷: 재시작 시 최신 스냅샷의 잔액을 읽고 그 이후 기록만 replay 한다")
+    void 스냅샷_이후_기록만_replay() {
+        writeHistory(start(new FixedLatencyPointHistoryTable(0)));
+
+        FixedLatencyPointHistoryTable historyTable = new FixedLatencyPointHistoryTable(0);
+        PointService restarted = start(historyTable);
+
+        for (long userId = 0; userId < 5; userId++) {
+            assertThat(restarted.get(userId).point()).isEqualTo(100 * 2 - 4);
+        }
+        assertThat(historyTable.insertCount.get()).isEqualTo(20);
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("스냅샷: 최신 스냅샷이 깨져 있으면 이전 스냅샷(없으면 저널 전체)으로 복구한다")
+    void 깨진_스냅샷_무시() throws Exception {
+        writeHistory(start(new FixedLatencyPointHistoryTable(0)));
+        Path latest;
+        try (Stream<Path> files = Files.list(root.resolve("snapshot"))) {
+            latest = files.max(Comparator.naturalOrder()).orElseThrow();
+        }
+        byte[] bytes = Files.readAllBytes(latest);
+        bytes[bytes.length - 10] ^= 1;
+        Files.write(latest, bytes);
+
+        FixedLatencyPointHistoryTable historyTable = new FixedLatencyPointHistoryTable(0);
+        PointService restarted = start(historyTable);
+
+        for (long userId = 0; userId < 5; userId++) {
+            assertThat(restarted.get(userId).point()).isEqualTo(100 * 2 - 4);
+        }
+        assertThat(historyTable.insertCount.get()).isEqualTo(520);
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("스냅샷: 저널이 스냅샷보다 짧게 복구되면 그 스냅샷은 치우고 이전 스냅샷으로 복구한다")
+    void 저널보다_앞선_스냅샷() throws Exception {
+        PointService service = start(new FixedLatencyPointHistoryTable(0));
+        for (int i = 0; i < 500; i++) {
+            service.charge(i % 5, 2);
+        }
+        assertThat(service.checkpoint()).isEqualTo(500);
+        for (int i = 0; i < 20; i++) {
+            service.use(i % 5, 1);
+        }
+        assertThat(service.checkpoint()).isEqualTo(520);
+        service.close();
+
+        // seq 510 을 훼손해 저널이 509 까지만 복구되게 한다 (세그먼트당 50 레코드, 501 부터 시작하는 세그먼트의 10번째)
+        Path segment = root.resolve("journal").resolve(String.format("%020d.journal", 501));
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[9 * 40] ^= 1;
+        Files.write(segment, bytes);
+
+        FixedLatencyPointHistoryTable historyTable = new FixedLatencyPointHistoryTable(0);
+        PointService restarted = start(historyTable);
+
+        // 500 스냅샷 + 사용 9건 (seq 501 ~ 509)
+        for (long userId = 0; userId < 5; userId++) {
+            assertThat(restarted.get(userId).point()).isEqualTo(userId < 4 ? 198 : 199);
+        }
+        assertThat(historyTable.insertCount.get()).isEqualTo(9);
+        assertThat(Files.exists(root.resolve("snapshot").resolve(String.format("%020d.snapshot", 520)))).isFalse();
+        assertThat(restarted.checkpoint()).isEqualTo(509);
+        restarted.close();
+
+        PointService again = start(new FixedLatencyPointHistoryTable(0));
+        assertThat(again.get(0L).point()).isEqualTo(198);
+        assertThat(again.get(4L).point()).isEqualTo(199);
+        again.close();
+    }
+}
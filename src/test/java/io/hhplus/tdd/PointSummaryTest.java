@@ -0,0 +1,105 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.support.FixedLatencyPointHistoryTable;
+import io.hhplus.tdd.support.FixedLatencyUserPointTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointSummaryTest {
+
+    private static final long HOUR = 3_600_000L;
+    private static final long DAY = 24 * HOUR;
+
+    @ParameterizedTest(name = "집계 사용 = {0}")
+    @ValueSource(booleans = {true, false})
+    @DisplayName("요약: 합계/건수와 칸별 합이 실제 충전/사용과 일치한다 (집계 사용 여부와 무관)")
+    void 요약_합계(boolean rollups) throws Exception {
+        PointProperties properties = new PointProperties();
+        properties.getSummary().setEnabled(rollups);
+        FixedLatencyPointHistoryTable historyTable = new FixedLatencyPointHistoryTable(0);
+        PointService service = new PointService(new FixedLatencyUserPointTable(0, 0), historyTable, properties);
+
+        long before = System.currentTimeMillis();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 200; i++) {
+            pool.submit(() -> {
+                service.charge(1L, 10);
+                service.use(1L, 3);
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        long after = System.currentTimeMillis();
+
+        for (PointSummary.Granularity granularity : PointSummary.Granularity.values()) {
+            PointSummary summary = service.summary(1L, granularity, before, after + 1);
+            assertThat(summary.chargedAmount()).isEqualTo(2_000);
+            assertThat(summary.usedAmount()).isEqualTo(600);
+            assertThat(summary.chargeCount()).isEqualTo(200);
+            assertThat(summary.useCount()).isEqualTo(200);
+            assertThat(summary.fromMillis()).isLessThanOrEqualTo(before);
+            assertThat(summary.toMillis()).isGreaterThan(after);
+            assertThat(summary.buckets()).isNotEmpty();
+            assertThat(summary.buckets().stream().mapToLong(PointSummary.Bucket::chargedAmount).sum()).isEqualTo(2_000);
+            assertThat(summary.buckets().stream().mapToLong(PointSummary.Bucket::useCount).sum()).isEqualTo(200);
+        }
+
+        // 범위 밖 구간, 기록 없는 유저
+        PointSummary later = service.summary(1L, PointSummary.Granularity.HOUR, after + 2 * HOUR, after + 3 * HOUR);
+        assertThat(later.chargeCount()).isZero();
+        assertThat(later.buckets()).isEmpty();
+        assertThat(service.summary(2L, PointSummary.Granularity.DAY, null, null).buckets()).isEmpty();
+
+        // 집계를 쓰면 요약 때문에 내역 테이블을 읽지 않는다
+        if (rollups) {
+            assertThat(historyTable.selectCount.get()).isZero();
+        }
+
+        assertThatThrownBy(() -> service.summary(1L, PointSummary.Granularity.DAY, after + 1, before))
+                .isInstanceOf(IllegalArgumentException.class);
+        service.close();
+    }
+
+    @ParameterizedTest(name = "집계 사용 = {0}")
+    @ValueSource(booleans = {true, false})
+    @DisplayName("요약: 한쪽 경계만 주어졌는데 기록이 없거나 그 바깥에만 있으면 빈 요약")
+    void 한쪽_경계_빈_요약(boolean rollups) {
+        PointProperties properties = new PointProperties();
+        properties.getSummary().setEnabled(rollups);
+        PointService service = new PointService(new FixedLatencyUserPointTable(0, 0),
+                new FixedLatencyPointHistoryTable(0), properties);
+        long now = System.currentTimeMillis();
+        service.charge(1L, 100);
+
+        for (PointSummary.Granularity granularity : PointSummary.Granularity.values()) {
+            // 기록 없는 유저에 from 만
+            PointSummary none = service.summary(2L, granularity, now, null);
+            assertThat(none.chargeCount()).isZero();
+            assertThat(none.buckets()).isEmpty();
+
+            // 마지막 칸보다 늦은 from
+            PointSummary later = service.summary(1L, granularity, now + 3 * DAY, null);
+            assertThat(later.chargeCount()).isZero();
+            assertThat(later.buckets()).isEmpty();
+            assertThat(later.fromMillis()).isEqualTo(later.toMillis());
+
+            // 첫 칸보다 이른 to
+            PointSummary earlier = service.summary(1L, granularity, null, now - 3 * DAY);
+            assertThat(earlier.chargeCount()).isZero();
+            assertThat(earlier.buckets()).isEmpty();
+            assertThat(earlier.fromMillis()).isEqualTo(earlier.toMillis());
+        }
+        service.close();
+    }
+}
@@ -0,0 +1,126 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.PointTransfer;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserLocks;
+import io.hhplus.tdd.support.FixedLatencyPointHistoryTable;
+import io.hhplus.tdd.support.FixedLatencyUserPointTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class PointTransferTest {
+
+    private static final int USERS = 8;
+    private static final long INITIAL = 10_000;
+
+    private static PointService service(UserLocks.Strategy strategy, FixedLatencyPointHistoryTable historyTable) {
+        PointProperties properties = new PointProperties();
+        properties.getLock().setStrategy(strategy);
+        // 스트라이프를 적게 잡아 서로 다른 유저가 같은 락을 공유하는 경우도 섞이게 한다
+        properties.getLock().setStripes(4);
+        return new PointService(new FixedLatencyUserPointTable(0, 0), historyTable, properties);
+    }
+
+    @ParameterizedTest
+    @EnumSource(UserLocks.Strategy.class)
+    @DisplayName("이체: 여러 스레드가 양방향으로 엇갈려 이체해도 교착 없이 끝나고, 잔액 총합이 보존된다")
+    void 동시_교차_이체(UserLocks.Strategy strategy) {
+        FixedLatencyPointHistoryTable historyTable = new FixedLatencyPointHistoryTable(0);
+        PointService service = service(strategy, historyTable);
+        for (long userId = 0; userId < USERS; userId++) {
+            service.charge(userId, INITIAL);
+        }
+        int threads = 16;
+        int transfersPerThread = 2_000;
+        AtomicLong succeeded = new AtomicLong();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < transfersPerThread; i++) {
+                        long fromId = random.nextInt(USERS);
+                        long toId = (fromId + 1 + random.nextInt(USERS - 1)) % USERS;
+                        try {
+                            service.transfer(fromId, toId, 1 + random.nextInt(3_000));
+                            succeeded.incrementAndGet();
+                        } catch (IllegalStateException insufficient) {
+                            // 잔액 부족만 허용
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            pool.shutdown();
+        });
+
+        long total = 0;
+        long histories = 0;
+        for (long userId = 0; userId < USERS; userId++) {
+            long point = service.get(userId).point();
+            assertThat(point).isGreaterThanOrEqualTo(0);
+            total += point;
+            histories += historyTable.selectAllByUserId(userId).size();
+        }
+        assertThat(total).isEqualTo(USERS * INITIAL);
+        // 초기 충전 + 이체마다 출금/입금 한 건씩
+        assertThat(histories).isEqualTo(USERS + 2 * succeeded.get());
+    }
+
+    @Test
+    @DisplayName("이체: 보낸 쪽은 USE, 받은 쪽은 CHARGE 내역이 남고 두 잔액을 돌려준다")
+    void 이체_결과() {
+        FixedLatencyPointHistoryTable historyTable = new FixedLatencyPointHistoryTable(0);
+        PointService service = service(UserLocks.Strategy.FAIR, historyTable);
+        service.charge(1L, 100);
+
+        PointTransfer transfer = service.transfer(1L, 2L, 30);
+
+        assertThat(transfer.from().point()).isEqualTo(70L);
+        assertThat(transfer.to().point()).isEqualTo(30L);
+        assertThat(historyTable.selectAllByUserId(1L).get(1).type()).isEqualTo(TransactionType.USE);
+        assertThat(historyTable.selectAllByUserId(2L).get(0).type()).isEqualTo(TransactionType.CHARGE);
+    }
+
+    @Test
+    @DisplayName("이체: 잔액이 부족하거나 자기 자신에게 보내면 어느 쪽도 바뀌지 않는다")
+    void 이체_거절() {
+        FixedLatencyPointHistoryTable historyTable = new FixedLatencyPointHistoryTable(0);
+        PointService service = service(UserLocks.Strategy.FAIR, historyTable);
+        service.charge(1L, 100);
+
+        assertThatThrownBy(() -> service.transfer(1L, 2L, 101)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> service.transfer(1L, 1L, 10)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(service.get(1L).point()).isEqualTo(100L);
+        assertThat(service.get(2L).point()).isZero();
+        assertThat(historyTable.selectAllByUserId(1L)).hasSize(1);
+        assertThat(historyTable.selectAllByUserId(2L)).isEmpty();
+    }
+}
@@ -0,0 +1,106 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 가상 스레드 모드 부하 테스트
+ * - 모든 요청이 테이블 지연(300ms) 동안 블로킹될 때, 동시에 처리 중인 요청 수가 Tomcat 기본 스레드 수(200)를 넘는지 확인한다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "server.tomcat.accept-count=1000"
+})
+class PointVirtualThreadLoadTest {
+
+    private static final int REQUESTS = 1000;
+    private static final int PLATFORM_THREADS = 200;
+
+    @TestConfiguration
+    static class SlowTableConfig {
+        @Bean
+        @Primary
+        InFlightCountingUserPointTable inFlightCountingUserPointTable() {
+            return new InFlightCountingUserPointTable();
+        }
+    }
+
+    // 조회마다 고정 300ms 블로킹하며, 동시에 블로킹 중인 최대 요청 수를 기록
+    static class InFlightCountingUserPointTable extends UserPointTable {
+        private final ConcurrentHashMap<Long, UserPoint> table = new ConcurrentHashMap<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        @Override
+        public UserPoint selectById(Long id) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                TimeUnit.MILLISECONDS.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        }
+    }
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    InFlightCountingUserPointTable userPointTable;
+
+    @BeforeAll
+    static void requireVirtualThreads() {
+        assumeTrue(Runtime.version().feature() >= 21, "가상 스레드는 JDK 21 이상에서만 동작");
+    }
+
+    @Test
+    @DisplayName("가상 스레드 모드: 동시 요청 1000건을 Tomcat 기본 스레드 수(200)보다 많이 동시에 처리한다")
+    void 동시처리_용량() {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+
+        List<CompletableFuture<HttpResponse<String>>> responses = IntStream.range(0, REQUESTS)
+                .mapToObj(i -> client.sendAsync(
+                        HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + i)).GET().build(),
+                        HttpResponse.BodyHandlers.ofString()))
+                .toList();
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+
+        assertThat(responses).allMatch(response -> response.join().statusCode() == 200);
+        assertThat(userPointTable.maxInFlight.get()).isGreaterThan(PLATFORM_THREADS);
+    }
+}
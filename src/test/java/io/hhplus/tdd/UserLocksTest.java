@@ -0,0 +1,90 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserLocks;
+import io.hhplus.tdd.support.FixedLatencyPointHistoryTable;
+import io.hhplus.tdd.support.FixedLatencyUserPointTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserLocksTest {
+
+    @ParameterizedTest
+    @EnumSource(UserLocks.Strategy.class)
+    @DisplayName("모든 락 전략에서 같은 유저 동시 충전이 정확히 누적된다")
+    void 전략별_동시충전_정확히_누적(UserLocks.Strategy strategy) throws InterruptedException {
+        PointProperties properties = new PointProperties();
+        properties.getLock().setStrategy(strategy);
+        properties.getLock().setStripes(4);
+        PointService service = new PointService(new FixedLatencyUserPointTable(1, 1), new FixedLatencyPointHistoryTable(0), properties);
+
+        int threads = 50;
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        for (int i = 0; i < threads; i++) {
+            long userId = i % 5;
+            pool.submit(() -> service.charge(userId, 100));
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        for (long userId = 0; userId < 5; userId++) {
+            assertThat(service.get(userId).point()).isEqualTo(1000L);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = UserLocks.Strategy.class, names = {"STRIPED", "REF_COUNTED"})
+    @DisplayName("STRIPED/REF_COUNTED 는 유저 수가 늘어도 보관하는 락 수가 늘지 않는다")
+    void 보관_락_수_제한(UserLocks.Strategy strategy) {
+        UserLocks locks = UserLocks.create(strategy, 8);
+
+        for (long userId = 0; userId < 10_000; userId++) {
+            Lock lock = locks.lockFor(userId);
+            lock.lock();
+            lock.unlock();
+        }
+
+        assertThat(locks.retainedLocks()).isLessThanOrEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("REF_COUNTED 는 사용 중인 유저의 락을 유지하다가 모두 풀리면 제거한다")
+    void 참조카운트_락_제거() {
+        UserLocks locks = UserLocks.create(UserLocks.Strategy.REF_COUNTED, 0);
+
+        Lock first = locks.lockFor(1L);
+        first.lock();
+        assertThat(locks.retainedLocks()).isEqualTo(1);
+        first.unlock();
+
+        assertThat(locks.retainedLocks()).isZero();
+    }
+
+    @ParameterizedTest
+    @EnumSource(UserLocks.Strategy.class)
+    @DisplayName("모든 락 전략의 락은 잡은 상태에서 조건 변수를 만들어 기다리고 깨울 수 있다")
+    void 조건_변수(UserLocks.Strategy strategy) throws InterruptedException {
+        UserLocks locks = UserLocks.create(strategy, 8);
+        Lock lock = locks.lockFor(1L);
+
+        lock.lock();
+        try {
+            Condition condition = lock.newCondition();
+            assertThat(condition.await(10, TimeUnit.MILLISECONDS)).isFalse();
+            condition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
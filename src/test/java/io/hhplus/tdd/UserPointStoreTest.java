@@ -0,0 +1,68 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.UserPointStore;
+import io.hhplus.tdd.support.FixedLatencyPointHistoryTable;
+import io.hhplus.tdd.support.FixedLatencyUserPointTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserPointStoreTest {
+
+    @Test
+    @DisplayName("OFF_HEAP 저장소: 작게 시작해도 늘어나며 모든 유저(0, 음수 포함)의 잔액을 돌려준다")
+    void 힙_밖_저장소_읽기_쓰기() {
+        UserPointStore store = UserPointStore.create(UserPointStore.Type.OFF_HEAP, null, 16);
+
+        for (long id = -1_000; id < 50_000; id++) {
+            store.insertOrUpdate(id, id * 2);
+        }
+        store.insertOrUpdate(Long.MAX_VALUE, 7);
+        UserPoint updated = store.insertOrUpdate(0L, 9);
+
+        for (long id = -1_000; id < 50_000; id++) {
+            assertThat(store.selectById(id).point()).isEqualTo(id == 0 ? 9 : id * 2);
+        }
+        assertThat(store.selectById(Long.MAX_VALUE).point()).isEqualTo(7);
+        assertThat(store.selectById(0L)).isEqualTo(updated);
+        assertThat(store.selectById(Long.MIN_VALUE)).isEqualTo(UserPoint.empty(Long.MIN_VALUE));
+        // 24바이트 칸, 적재율 3/4 이하
+        assertThat(store.offHeapBytes()).isBetween(51_001L * 24, 51_001L * 24 * 4);
+    }
+
+    @Test
+    @DisplayName("OFF_HEAP 저장소: 여러 유저를 동시에 충전/조회해도 잔액이 정확하다")
+    void 힙_밖_저장소_동시성() throws Exception {
+        PointProperties properties = new PointProperties();
+        properties.getStore().setBalance(UserPointStore.Type.OFF_HEAP);
+        properties.getStore().setInitialCapacity(16);
+        FixedLatencyUserPointTable table = new FixedLatencyUserPointTable(0, 0);
+        PointService service = new PointService(table, new FixedLatencyPointHistoryTable(0), properties);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 4_000; i++) {
+            long userId = i % 1_000;
+            pool.submit(() -> {
+                service.charge(userId, 10);
+                service.get((userId + 1) % 1_000);
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        for (long userId = 0; userId < 1_000; userId++) {
+            assertThat(service.get(userId).point()).isEqualTo(40);
+        }
+        assertThat(table.updateCount.get()).isZero();
+        assertThat(table.selectCount.get()).isZero();
+        service.close();
+    }
+}
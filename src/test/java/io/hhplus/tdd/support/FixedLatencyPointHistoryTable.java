@@ -0,0 +1,46 @@
+package io.hhplus.tdd.support;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테스트용 PointHistoryTable 대역
+ * - 고정 지연 + 호출 횟수 집계, 서로 다른 유저의 동시 insert 에도 안전하다.
+ */
+public class FixedLatencyPointHistoryTable extends PointHistoryTable {
+
+    private final List<PointHistory> table = new ArrayList<>();
+    private final long insertMillis;
+    private long cursor = 1;
+
+    public final AtomicInteger insertCount = new AtomicInteger();
+    public final AtomicInteger selectCount = new AtomicInteger();
+
+    public FixedLatencyPointHistoryTable(long insertMillis) {
+        this.insertMillis = insertMillis;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        insertCount.incrementAndGet();
+        FixedLatencyUserPointTable.sleep(insertMillis);
+        synchronized (table) {
+            PointHistory pointHistory = new PointHistory(cursor++, userId, amount, type, updateMillis);
+            table.add(pointHistory);
+            return pointHistory;
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        selectCount.incrementAndGet();
+        synchronized (table) {
+            return table.stream().filter(pointHistory -> pointHistory.userId() == userId).toList();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package io.hhplus.tdd.support;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테스트용 UserPointTable 대역
+ * - 랜덤 지연 대신 고정 지연을 사용해 처리량 비교가 흔들리지 않게 한다.
+ * - 조회/갱신 호출 횟수를 센다.
+ */
+public class FixedLatencyUserPointTable extends UserPointTable {
+
+    private final Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+    private final long selectMillis;
+    private final long updateMillis;
+
+    public final AtomicInteger selectCount = new AtomicInteger();
+    public final AtomicInteger updateCount = new AtomicInteger();
+
+    public FixedLatencyUserPointTable(long selectMillis, long updateMillis) {
+        this.selectMillis = selectMillis;
+        this.updateMillis = updateMillis;
+    }
+
+    @Override
+    public UserPoint selectById(Long id) {
+        selectCount.incrementAndGet();
+        sleep(selectMillis);
+        return table.getOrDefault(id, UserPoint.empty(id));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        updateCount.incrementAndGet();
+        sleep(updateMillis);
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        table.put(id, userPoint);
+        return userPoint;
+    }
+
+    static void sleep(long millis) {
+        if (millis <= 0) return;
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}